@@ -0,0 +1,46 @@
+package com.himanshu.tickets.controllers;
+
+import com.himanshu.tickets.domain.dtos.ListPublishedEventResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublishedEventPageJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    private Page<ListPublishedEventResponseDto> page;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        List<ListPublishedEventResponseDto> events = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            events.add(new ListPublishedEventResponseDto(
+                    UUID.randomUUID(), "Event " + i, start.plusDays(i), start.plusDays(i).plusHours(4), "Venue " + i));
+        }
+        page = new PageImpl<>(events, PageRequest.of(0, pageSize), 10_000);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+}
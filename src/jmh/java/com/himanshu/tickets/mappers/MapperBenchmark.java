@@ -0,0 +1,84 @@
+package com.himanshu.tickets.mappers;
+
+import com.himanshu.tickets.domain.dtos.GetEventDetailsResponseDto;
+import com.himanshu.tickets.domain.dtos.GetPublishedEventDetailsResponseDto;
+import com.himanshu.tickets.domain.dtos.ListTicketResponseDto;
+import com.himanshu.tickets.domain.entities.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int ticketTypes;
+
+    private final EventMappers eventMappers = new EventMappersImpl();
+    private final TicketMapper ticketMapper = new TicketMapperImpl();
+
+    private Event event;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime start = LocalDateTime.now().plusDays(30);
+        event = new Event();
+        event.setId(UUID.randomUUID());
+        event.setName("Benchmark Festival");
+        event.setVenue("Main Arena");
+        event.setStart(start);
+        event.setEnd(start.plusHours(8));
+        event.setSalesStart(start.minusDays(30));
+        event.setSalesEnd(start);
+        event.setStatus(EventStatusEnum.PUBLISHED);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setUpdatedAt(LocalDateTime.now());
+
+        tickets = new ArrayList<>(ticketTypes);
+        for (int i = 0; i < ticketTypes; i++) {
+            TicketType ticketType = new TicketType();
+            ticketType.setId(UUID.randomUUID());
+            ticketType.setName("Tier " + i);
+            ticketType.setPrice(50.0 + i);
+            ticketType.setDescription("Seating tier " + i);
+            ticketType.setTotalAvailable(500);
+            ticketType.setEvent(event);
+            event.getTicketTypes().add(ticketType);
+
+            Ticket ticket = new Ticket();
+            ticket.setId(UUID.randomUUID());
+            ticket.setStatus(TicketStatusEnum.PURCHASED);
+            ticket.setTicketType(ticketType);
+            tickets.add(ticket);
+        }
+    }
+
+    @Benchmark
+    public GetEventDetailsResponseDto eventDetails() {
+        return eventMappers.toGetEventDetailsResponseDto(event);
+    }
+
+    @Benchmark
+    public GetPublishedEventDetailsResponseDto publishedEventDetails() {
+        return eventMappers.toGetPublishedEventDetailsResponseDto(event);
+    }
+
+    @Benchmark
+    public List<ListTicketResponseDto> ticketList() {
+        List<ListTicketResponseDto> dtos = new ArrayList<>(tickets.size());
+        for (Ticket ticket : tickets) {
+            dtos.add(ticketMapper.toListTicketResponseDto(ticket));
+        }
+        return dtos;
+    }
+}
@@ -0,0 +1,117 @@
+package com.himanshu.tickets.repositories;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one page of published-event search (data and count query, as Spring Data runs them) against
+ * PostgreSQL, comparing the per-row {@code to_tsvector} expression with the stored, GIN-indexed search vector.
+ * Each size gets its own table in the {@code search_bench} schema, generated on first use and kept for later runs.
+ * Point it at a scratch database with {@code -Dbench.db.url}, {@code -Dbench.db.user} and {@code -Dbench.db.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EventSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "jazz", "festival", "rock", "opera", "comedy", "night", "summer", "winter", "harbour", "garden",
+            "arena", "hall", "theatre", "club", "park", "symphony", "indie", "folk", "electronic", "gala"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int events;
+
+    @Param({"expression", "tsvector"})
+    public String mode;
+
+    @Param({"harbour festival"})
+    public String searchTerm;
+
+    private Connection connection;
+    private PreparedStatement page;
+    private PreparedStatement count;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", ""));
+        String table = "search_bench.events_" + events;
+        createTable(table);
+
+        if (mode.equals("tsvector")) {
+            page = connection.prepareStatement("SELECT e.* FROM " + table + " e, plainto_tsquery('english', ?) query " +
+                    "WHERE e.status = 'PUBLISHED' AND e.search_vector @@ query " +
+                    "ORDER BY ts_rank(e.search_vector, query) DESC, e.id LIMIT 20");
+            count = connection.prepareStatement("SELECT count(*) FROM " + table + " e " +
+                    "WHERE e.status = 'PUBLISHED' AND e.search_vector @@ plainto_tsquery('english', ?)");
+        } else {
+            String match = "status = 'PUBLISHED' AND " +
+                    "to_tsvector('english', COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
+                    "@@ plainto_tsquery('english', ?)";
+            page = connection.prepareStatement("SELECT * FROM " + table + " WHERE " + match + " LIMIT 20");
+            count = connection.prepareStatement("SELECT count(*) FROM " + table + " WHERE " + match);
+        }
+    }
+
+    private void createTable(String table) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE SCHEMA IF NOT EXISTS search_bench");
+            statement.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "id uuid PRIMARY KEY DEFAULT gen_random_uuid(), " +
+                    "name varchar(255) NOT NULL, venue varchar(255) NOT NULL, status varchar(255) NOT NULL, " +
+                    "event_start timestamp, " +
+                    "search_vector tsvector GENERATED ALWAYS AS (" +
+                    "setweight(to_tsvector('english', COALESCE(name, '')), 'A') || " +
+                    "setweight(to_tsvector('english', COALESCE(venue, '')), 'B')) STORED)");
+
+            try (ResultSet rows = statement.executeQuery("SELECT count(*) FROM " + table)) {
+                rows.next();
+                if (rows.getLong(1) == 0) {
+                    String words = "ARRAY['" + String.join("','", WORDS) + "']";
+                    statement.execute("INSERT INTO " + table + " (name, venue, status, event_start) " +
+                            "SELECT initcap((" + words + ")[1 + g % 20] || ' ' || (" + words + ")[1 + (g / 20) % 20]) || ' ' || g, " +
+                            "initcap((" + words + ")[1 + (g / 400) % 20]) || ' Venue', " +
+                            "CASE WHEN g % 10 = 0 THEN 'DRAFT' ELSE 'PUBLISHED' END, " +
+                            "now() + g * interval '1 minute' " +
+                            "FROM generate_series(1, " + events + ") g");
+                }
+            }
+            statement.execute("CREATE INDEX IF NOT EXISTS " + table.replace("search_bench.", "") + "_search_vector " +
+                    "ON " + table + " USING GIN (search_vector) WHERE status = 'PUBLISHED'");
+            statement.execute("ANALYZE " + table);
+        }
+    }
+
+    @Benchmark
+    public long searchPage() throws SQLException {
+        long rows = 0;
+        page.setString(1, searchTerm);
+        try (ResultSet results = page.executeQuery()) {
+            while (results.next()) {
+                rows++;
+            }
+        }
+        count.setString(1, searchTerm);
+        try (ResultSet results = count.executeQuery()) {
+            results.next();
+            return rows + results.getLong(1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.EventSuggestion;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead latency of {@link EventSuggestionIndex} for short and narrowing prefixes over a large catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSuggestionIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "jazz", "festival", "rock", "opera", "comedy", "night", "summer", "winter", "harbour", "garden",
+            "arena", "hall", "theatre", "club", "park", "symphony", "indie", "folk", "electronic", "gala"};
+
+    @Param({"100000"})
+    public int events;
+
+    @Param({"j", "har", "jazz ga"})
+    public String query;
+
+    private EventSuggestionIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new EventSuggestionIndex();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < events; i++) {
+            String name = WORDS[i % 20] + " " + WORDS[(i / 20) % 20] + " " + i;
+            String venue = WORDS[(i / 400) % 20] + " venue";
+            index.put(new EventSuggestion(UUID.randomUUID(), name, venue, now.plusMinutes(i), now));
+        }
+        System.out.printf("%d events, ~%d KiB estimated%n", index.size(), index.estimatedBytes() / 1024);
+    }
+
+    @Benchmark
+    public List<EventSuggestion> suggest() {
+        return index.search(query, 10);
+    }
+}
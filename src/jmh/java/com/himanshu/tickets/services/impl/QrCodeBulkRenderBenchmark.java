@@ -0,0 +1,54 @@
+package com.himanshu.tickets.services.impl;
+
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tickets issued per second by {@link QrCodeBulkRenderer} for a block of comps at 1, 4 and 16 render threads.
+ * Covers the rendering that bulk issuance waits on; the batched insert afterwards is a handful of statements.
+ * The calling thread renders too whenever every worker is busy, so N threads means N workers plus the caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodeBulkRenderBenchmark {
+
+    private static final int BLOCK_SIZE = 512;
+
+    @Param({"1", "4", "16"})
+    public int threads;
+
+    private QrCodeBulkRenderer renderer;
+    private Map<UUID, UUID> block;
+
+    @Setup
+    public void setUp() {
+        renderer = new QrCodeBulkRenderer(new QrCodeImageRenderer(
+                new QRCodeWriter(), QrCodePayloadBenchmark.codec(), ErrorCorrectionLevel.L, 0), threads);
+        UUID eventId = UUID.randomUUID();
+        block = LinkedHashMap.newLinkedHashMap(BLOCK_SIZE);
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            block.put(UUID.randomUUID(), eventId);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        renderer.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BLOCK_SIZE)
+    public Map<UUID, byte[]> issueBlock() {
+        return renderer.render(block);
+    }
+}
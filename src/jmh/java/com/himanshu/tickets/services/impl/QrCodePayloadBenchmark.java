@@ -0,0 +1,57 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.QrCodePayload;
+import com.himanshu.tickets.domain.QrCodePayloadFormatEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of checking a scanned payload before any database work: a genuine code, one with
+ * a tampered tag, and a bare UUID as printed before payloads were signed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodePayloadBenchmark {
+
+    private final QrCodePayloadCodec codec = codec();
+    private final UUID qrCodeId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+    private final String signed = codec.encode(qrCodeId, eventId);
+    private final String forged = signed.substring(0, signed.length() - 1) + (signed.endsWith("A") ? "B" : "A");
+    private final String unsigned = qrCodeId.toString();
+
+    static QrCodePayloadCodec codec() {
+        return codec(QrCodePayloadFormatEnum.BASE64);
+    }
+
+    static QrCodePayloadCodec codec(QrCodePayloadFormatEnum format) {
+        return new QrCodePayloadCodec("1:Lsvfl2v74VXtJNMhCvPE0E/+uRiJDcceJXE+vkaV2UU=", 1, true, format);
+    }
+
+    @Benchmark
+    public String encode() {
+        return codec.encode(qrCodeId, eventId);
+    }
+
+    @Benchmark
+    public Optional<QrCodePayload> verifySigned() {
+        return codec.decode(signed);
+    }
+
+    @Benchmark
+    public Optional<QrCodePayload> rejectForged() {
+        return codec.decode(forged);
+    }
+
+    @Benchmark
+    public Optional<QrCodePayload> parseUnsigned() {
+        return codec.decode(unsigned);
+    }
+}
@@ -0,0 +1,67 @@
+package com.himanshu.tickets.services.impl;
+
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.google.zxing.qrcode.encoder.Encoder;
+import com.himanshu.tickets.domain.QrCodePayloadFormatEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Render cost of a 300x300 ticket QR code per payload form and error-correction level.
+ * UUID is the bare id printed before payloads were signed. The QR version and PNG size
+ * of each combination are printed once per trial, as JMH has no column for them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodePayloadFormatBenchmark {
+
+    @Param({"UUID", "BASE64", "COMPACT"})
+    private String payloadForm;
+
+    @Param({"L", "M", "Q"})
+    private ErrorCorrectionLevel errorCorrection;
+
+    private QrCodeImageRenderer renderer;
+    private UUID qrCodeId;
+    private UUID eventId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws WriterException {
+        qrCodeId = UUID.randomUUID();
+        eventId = UUID.randomUUID();
+        QrCodePayloadCodec codec = switch (payloadForm) {
+            case "COMPACT" -> QrCodePayloadBenchmark.codec(QrCodePayloadFormatEnum.COMPACT);
+            case "BASE64" -> QrCodePayloadBenchmark.codec(QrCodePayloadFormatEnum.BASE64);
+            // Writes the bare id so the legacy text goes through the same renderer
+            default -> new QrCodePayloadCodec("1:Lsvfl2v74VXtJNMhCvPE0E/+uRiJDcceJXE+vkaV2UU=", 1, true,
+                    QrCodePayloadFormatEnum.BASE64) {
+                @Override
+                public String encode(UUID qrCodeId, UUID eventId) {
+                    return qrCodeId.toString();
+                }
+            };
+        };
+        renderer = new QrCodeImageRenderer(new QRCodeWriter(), codec, errorCorrection, 0);
+
+        String payload = codec.encode(qrCodeId, eventId);
+        int version = Encoder.encode(payload, errorCorrection, Map.of(EncodeHintType.ERROR_CORRECTION, errorCorrection))
+                .getVersion().getVersionNumber();
+        System.out.printf("%n%s/%s: %d chars, QR version %d, PNG %d bytes%n",
+                payloadForm, errorCorrection, payload.length(), version, render().length);
+    }
+
+    @Benchmark
+    public byte[] render() {
+        return renderer.render(qrCodeId, eventId);
+    }
+}
@@ -0,0 +1,47 @@
+package com.himanshu.tickets.services.impl;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.client.j2se.MatrixToImageWriter;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.io.ByteArrayOutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the direct PNG writer used by {@link QrCodeImageRenderer} with the
+ * {@code BufferedImage} + ImageIO path it replaced. Run with {@code -prof gc} for bytes per QR.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QrCodeRenderBenchmark {
+
+    private final QRCodeWriter qrCodeWriter = new QRCodeWriter();
+    private final QrCodeImageRenderer renderer = new QrCodeImageRenderer(
+            qrCodeWriter, QrCodePayloadBenchmark.codec(), ErrorCorrectionLevel.L, 0);
+    private final UUID qrCodeId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+    private final String payload = QrCodePayloadBenchmark.codec().encode(qrCodeId, eventId);
+
+    @Benchmark
+    public byte[] pngWriter() {
+        return renderer.render(qrCodeId, eventId);
+    }
+
+    @Benchmark
+    public byte[] imageIo() throws Exception {
+        BitMatrix bitMatrix = qrCodeWriter.encode(payload, BarcodeFormat.QR_CODE, 300, 300);
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            ImageIO.write(MatrixToImageWriter.toBufferedImage(bitMatrix), "PNG", out);
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.himanshu.tickets.services.impl;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purchases per second of a single ticket type with 16 concurrent buyers, one transaction per purchase:
+ * reserve one ticket, insert it, commit. LOCKED is the original path (row lock on the ticket type, then
+ * COUNT(*) of its tickets); COUNTER, SHARDED and IN_MEMORY issue the same statements as the inventory modes
+ * in {@link TicketTypeServiceImpl}. Tables live in the {@code inventory_bench} schema and are reset per trial.
+ * Point it at a scratch PostgreSQL database with {@code -Dbench.db.url}, {@code -Dbench.db.user} and
+ * {@code -Dbench.db.password}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class TicketInventoryReservationBenchmark {
+
+    private static final int TOTAL_AVAILABLE = Integer.MAX_VALUE;
+    private static final int BUCKETS = 16;
+
+    @Param({"LOCKED", "COUNTER", "SHARDED", "IN_MEMORY"})
+    public String mode;
+
+    private final UUID ticketTypeId = UUID.randomUUID();
+    private InMemoryTicketInventory inMemoryTicketInventory;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS inventory_bench CASCADE");
+            statement.execute("CREATE SCHEMA inventory_bench");
+            statement.execute("CREATE TABLE inventory_bench.ticket_types (" +
+                    "id uuid PRIMARY KEY, total_available integer, sold integer NOT NULL DEFAULT 0)");
+            statement.execute("CREATE TABLE inventory_bench.ticket_inventory_buckets (" +
+                    "ticket_type_id uuid NOT NULL, bucket_index integer NOT NULL, remaining integer NOT NULL, " +
+                    "PRIMARY KEY (ticket_type_id, bucket_index))");
+            statement.execute("CREATE TABLE inventory_bench.tickets (" +
+                    "id uuid PRIMARY KEY DEFAULT gen_random_uuid(), ticket_type_id uuid NOT NULL)");
+            statement.execute("CREATE INDEX ON inventory_bench.tickets (ticket_type_id)");
+            statement.execute("INSERT INTO inventory_bench.ticket_types (id, total_available) " +
+                    "VALUES ('" + ticketTypeId + "', " + TOTAL_AVAILABLE + ")");
+            statement.execute("INSERT INTO inventory_bench.ticket_inventory_buckets " +
+                    "SELECT '" + ticketTypeId + "', b, " + TOTAL_AVAILABLE / BUCKETS + " " +
+                    "FROM generate_series(0, " + (BUCKETS - 1) + ") b");
+        }
+        inMemoryTicketInventory = new InMemoryTicketInventory();
+        inMemoryTicketInventory.load(ticketTypeId, TOTAL_AVAILABLE, 0);
+    }
+
+    @State(Scope.Thread)
+    public static class Buyer {
+
+        private Connection connection;
+        private PreparedStatement lock;
+        private PreparedStatement count;
+        private PreparedStatement incrementSold;
+        private PreparedStatement decrementBucket;
+        private PreparedStatement insertTicket;
+
+        @Setup(Level.Trial)
+        public void setUp() throws SQLException {
+            connection = connect();
+            connection.setAutoCommit(false);
+            lock = connection.prepareStatement("SELECT id FROM inventory_bench.ticket_types WHERE id = ? FOR UPDATE");
+            count = connection.prepareStatement("SELECT count(*) FROM inventory_bench.tickets WHERE ticket_type_id = ?");
+            incrementSold = connection.prepareStatement("UPDATE inventory_bench.ticket_types SET sold = sold + 1 " +
+                    "WHERE id = ? AND (total_available IS NULL OR sold + 1 <= total_available)");
+            decrementBucket = connection.prepareStatement("UPDATE inventory_bench.ticket_inventory_buckets " +
+                    "SET remaining = remaining - 1 WHERE ticket_type_id = ? AND bucket_index = ? AND remaining >= 1");
+            insertTicket = connection.prepareStatement("INSERT INTO inventory_bench.tickets (ticket_type_id) VALUES (?)");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws SQLException {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public boolean purchase(Buyer buyer) throws SQLException {
+        boolean reserved = switch (mode) {
+            case "LOCKED" -> reserveLocked(buyer);
+            case "COUNTER" -> {
+                buyer.incrementSold.setObject(1, ticketTypeId);
+                yield buyer.incrementSold.executeUpdate() == 1;
+            }
+            case "SHARDED" -> reserveFromBuckets(buyer);
+            default -> inMemoryTicketInventory.tryReserve(ticketTypeId, 1);
+        };
+        if (reserved) {
+            buyer.insertTicket.setObject(1, ticketTypeId);
+            buyer.insertTicket.executeUpdate();
+        }
+        buyer.connection.commit();
+        return reserved;
+    }
+
+    private boolean reserveLocked(Buyer buyer) throws SQLException {
+        buyer.lock.setObject(1, ticketTypeId);
+        buyer.lock.executeQuery().close();
+        buyer.count.setObject(1, ticketTypeId);
+        try (ResultSet rows = buyer.count.executeQuery()) {
+            rows.next();
+            return rows.getLong(1) < TOTAL_AVAILABLE;
+        }
+    }
+
+    // Same walk as TicketTypeServiceImpl.reserveFromBuckets: a random start, then the siblings in order
+    private boolean reserveFromBuckets(Buyer buyer) throws SQLException {
+        int start = ThreadLocalRandom.current().nextInt(BUCKETS);
+        for (int i = 0; i < BUCKETS; i++) {
+            buyer.decrementBucket.setObject(1, ticketTypeId);
+            buyer.decrementBucket.setInt(2, (start + i) % BUCKETS);
+            if (buyer.decrementBucket.executeUpdate() == 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                System.getProperty("bench.db.url", "jdbc:postgresql://localhost:5432/postgres"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", ""));
+    }
+}
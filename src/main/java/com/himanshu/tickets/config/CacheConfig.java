@@ -0,0 +1,38 @@
+package com.himanshu.tickets.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+import java.util.List;
+
+// Caching wraps the transaction advice, so a hit is answered without opening a transaction
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String PUBLISHED_EVENT_DETAILS = "publishedEventDetails";
+    public static final String PUBLISHED_EVENT_PAGES = "publishedEventPages";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${tickets.cache.published-events.ttl}") Duration ttl,
+            @Value("${tickets.cache.published-events.max-size}") long maxSize) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats());
+        cacheManager.setCacheNames(List.of(PUBLISHED_EVENT_DETAILS, PUBLISHED_EVENT_PAGES));
+
+        // Evictions wait for the writing transaction to commit, otherwise a reader could cache the old row again
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -26,7 +26,9 @@ public class SecurityConfig {
                         authorize
                                 .requestMatchers(HttpMethod.GET,"/api/v1/published-events/**").permitAll()
                                 .requestMatchers("/api/v1/events").hasRole("ORGANIZER")
+                                .requestMatchers("/api/v1/events/*/qr-codes/**").hasRole("ORGANIZER")
                                 .requestMatchers("/api/v1/ticket-validations").hasRole("STAFF")
+                                .requestMatchers("/api/v1/ticket-validations/**").hasRole("STAFF")
 
                                 // catch all rule
                                 .anyRequest().authenticated())
@@ -1,20 +1,26 @@
 package com.himanshu.tickets.controllers;
 
 import com.himanshu.tickets.domain.CreateEventRequest;
+import com.himanshu.tickets.domain.CursorPage;
 import com.himanshu.tickets.domain.UpdateEventRequest;
 import com.himanshu.tickets.domain.dtos.*;
 import com.himanshu.tickets.domain.entities.Event;
 import com.himanshu.tickets.mappers.EventMappers;
 import com.himanshu.tickets.services.EventService;
+import com.himanshu.tickets.services.QrCodeExportService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.UUID;
 
@@ -27,6 +33,7 @@ public class EventController {
 
     private final EventService eventService;
     private final EventMappers eventMappers;
+    private final QrCodeExportService qrCodeExportService;
 
     @PostMapping
     public ResponseEntity<CreateEventResponseDto> createEvent(
@@ -72,6 +79,20 @@ public class EventController {
     }
 
 
+    @GetMapping(params = "cursor")
+    public ResponseEntity<CursorPage<ListEventResponseDto>> scrollEvents(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ){
+        UUID userId = parseUserId(jwt);
+        return ResponseEntity.ok(
+                eventService.scrollEventsForOrganizer(userId, cursor, size)
+                        .map(eventMappers::toListEventResponseDto)
+        );
+    }
+
+
     @GetMapping(path = "/{eventId}")
     public ResponseEntity<GetEventDetailsResponseDto> getEvent(
             @AuthenticationPrincipal Jwt jwt,
@@ -86,6 +107,26 @@ public class EventController {
 
 
 
+    @GetMapping(path = "/{eventId}/qr-codes/export")
+    public ResponseEntity<StreamingResponseBody> exportQrCodes(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID eventId
+    ){
+        UUID userId = parseUserId(jwt);
+        if (eventService.getEventForOrganizer(userId, eventId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        // Written from an async thread straight into the response, one ZIP entry at a time
+        StreamingResponseBody body = outputStream -> qrCodeExportService.exportQrCodesForEvent(eventId, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + eventId + "-qr-codes.zip")
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @DeleteMapping(path = "/{eventId}")
     public ResponseEntity<Void> deleteEvent(@AuthenticationPrincipal Jwt jwt,
                                             @PathVariable UUID eventId){
@@ -36,6 +36,15 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(PurchaseLimitExceededException.class)
+    public ResponseEntity<ErrorDto> handlePurchaseLimitExceededException(PurchaseLimitExceededException ex) {
+        log.error("Caught PurchaseLimitExceededException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Ticket purchase limit exceeded");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+
     @ExceptionHandler(QrcodeNotFoundException.class)
     public ResponseEntity<ErrorDto> handleQrcodeNotFoundException(QrcodeNotFoundException ex) {
         log.error("Caught QrcodeNotFoundException", ex);
@@ -91,6 +100,15 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorDto> handleInvalidCursorException(InvalidCursorException ex) {
+        log.error("Caught InvalidCursorException", ex);
+        ErrorDto errorDto = new ErrorDto();
+        errorDto.setError("Invalid cursor");
+        return new ResponseEntity<>(errorDto, HttpStatus.BAD_REQUEST);
+    }
+
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorDto> handleMethodArgumentNotValidException(MethodArgumentNotValidException ex){
         log.error("Caught MethodArgumentNotValidException", ex);
@@ -1,16 +1,19 @@
 package com.himanshu.tickets.controllers;
 
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.dtos.EventSuggestionResponseDto;
 import com.himanshu.tickets.domain.dtos.GetEventDetailsResponseDto;
 import com.himanshu.tickets.domain.dtos.ListPublishedEventResponseDto;
-import com.himanshu.tickets.domain.entities.Event;
 import com.himanshu.tickets.mappers.EventMappers;
-import com.himanshu.tickets.services.EventService;
+import com.himanshu.tickets.services.EventSuggestionService;
+import com.himanshu.tickets.services.PublishedEventService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -18,7 +21,8 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class PublishedEventController {
 
-    private final EventService eventService;
+    private final PublishedEventService publishedEventService;
+    private final EventSuggestionService eventSuggestionService;
     private final EventMappers eventMappers;
 
     @GetMapping
@@ -26,22 +30,40 @@ public class PublishedEventController {
             @RequestParam(required = false) String q,
             Pageable pageable){
 
-        Page<Event> events;
+        Page<ListPublishedEventResponseDto> events;
         if(q != null && !q.trim().isEmpty()){
-            events = eventService.searchPublishedEvents(q, pageable);
+            events = publishedEventService.searchPublishedEvents(q, pageable);
         } else {
-            events = eventService.listPublishedEvents(pageable);
+            events = publishedEventService.listPublishedEvents(pageable);
         }
 
-        return ResponseEntity.ok(
-                events.map(eventMappers::toListPublishedEventResponseDto));
+        return ResponseEntity.ok(events);
+    }
+
+
+    // Keyset pagination for infinite scroll: newest first, no total count; pass an empty cursor for the first slice
+    @GetMapping(params = {"cursor", "!q"})
+    public ResponseEntity<CursorPage<ListPublishedEventResponseDto>> scrollPublishedEvents(
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size){
+        return ResponseEntity.ok(publishedEventService.scrollPublishedEvents(cursor, size));
+    }
+
+
+    // Typeahead, answered from memory without touching the database
+    @GetMapping(path = "/suggest")
+    public ResponseEntity<List<EventSuggestionResponseDto>> suggestPublishedEvents(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit){
+        return ResponseEntity.ok(eventSuggestionService.suggest(q, limit).stream()
+                .map(eventMappers::toEventSuggestionResponseDto)
+                .toList());
     }
 
 
     @GetMapping(path = "/{eventId}")
     public ResponseEntity<GetEventDetailsResponseDto> getPublishedEventDetails(@PathVariable UUID eventId){
-        return eventService.getPublishedEvent(eventId)
-                .map(eventMappers::toGetEventDetailsResponseDto)
+        return publishedEventService.getPublishedEventDetails(eventId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
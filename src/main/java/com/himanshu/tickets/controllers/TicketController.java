@@ -1,14 +1,21 @@
 package com.himanshu.tickets.controllers;
 
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.QrCodeVersionView;
+import com.himanshu.tickets.domain.TicketVersionView;
 import com.himanshu.tickets.domain.dtos.GetTicketResponseDto;
 import com.himanshu.tickets.domain.dtos.ListTicketResponseDto;
 import com.himanshu.tickets.mappers.TicketMapper;
 import com.himanshu.tickets.services.QrCodeService;
 import com.himanshu.tickets.services.TicketService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -16,9 +23,16 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static com.himanshu.tickets.util.JwtUtil.parseUserId;
 
@@ -27,9 +41,18 @@ import static com.himanshu.tickets.util.JwtUtil.parseUserId;
 @RequiredArgsConstructor
 public class TicketController {
 
+    private static final String CACHE_METRIC = "tickets.http.cache.requests";
+
     private final TicketService ticketService;
     private final TicketMapper ticketMapper;
     private final QrCodeService qrCodeService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tickets.http-cache.ticket.max-age}")
+    private Duration ticketMaxAge;
+
+    @Value("${tickets.http-cache.qr-code.max-age}")
+    private Duration qrCodeMaxAge;
 
     @GetMapping
     public Page<ListTicketResponseDto> listTickets(@AuthenticationPrincipal Jwt jwt, Pageable pageable) {
@@ -37,26 +60,82 @@ public class TicketController {
                .map(ticketMapper::toListTicketResponseDto);
     }
 
+    @GetMapping(params = "cursor")
+    public CursorPage<ListTicketResponseDto> scrollTickets(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+       return ticketService.scrollTicketsForUser(parseUserId(jwt), cursor, size)
+               .map(ticketMapper::toListTicketResponseDto);
+    }
+
     @GetMapping(path = "/{ticketId}")
     public ResponseEntity<GetTicketResponseDto> getTicket(
             @AuthenticationPrincipal Jwt jwt,
-            @PathVariable UUID ticketId) {
+            @PathVariable UUID ticketId,
+            WebRequest webRequest) {
 
-        return ticketService.getTicketForUser(parseUserId(jwt), ticketId)
+        UUID userId = parseUserId(jwt);
+        Optional<String> eTag = ticketService.getTicketVersionForUser(userId, ticketId).map(TicketController::ticketETag);
+        if (eTag.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        CacheControl cacheControl = cacheControl(ticketMaxAge);
+        if (isNotModified(webRequest, eTag.get(), "ticket")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).cacheControl(cacheControl).build();
+        }
+
+        // A change landing between the two reads only costs the client one extra full response later
+        return ticketService.getTicketForUser(userId, ticketId)
                 .map(ticketMapper::toGetTicketResponseDto)
-                .map(ResponseEntity::ok)
+                .map(ticket -> ResponseEntity.ok().eTag(eTag.get()).cacheControl(cacheControl).body(ticket))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping(path = "/{ticketId}/qr-codes")
     public ResponseEntity<byte[]> getQrCode(
             @AuthenticationPrincipal Jwt jwt,
-            @PathVariable UUID ticketId
+            @PathVariable UUID ticketId,
+            WebRequest webRequest
     ){
-        byte[] qrCodeImage = qrCodeService.getQrCodeImageForUserAndTicket(parseUserId(jwt), ticketId);
+        UUID userId = parseUserId(jwt);
+        String eTag = qrCodeETag(qrCodeService.getQrCodeVersionForUserAndTicket(userId, ticketId),
+                qrCodeService.getQrCodeRenderVersion());
+        CacheControl cacheControl = cacheControl(qrCodeMaxAge);
+        if (isNotModified(webRequest, eTag, "qr-code")) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).cacheControl(cacheControl).build();
+        }
+
+        byte[] qrCodeImage = qrCodeService.getQrCodeImageForUserAndTicket(userId, ticketId);
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.IMAGE_PNG);
         headers.setContentLength(qrCodeImage.length);
-        return ResponseEntity.ok().headers(headers).body(qrCodeImage);
+        return ResponseEntity.ok().headers(headers).eTag(eTag).cacheControl(cacheControl).body(qrCodeImage);
+    }
+
+    private boolean isNotModified(WebRequest webRequest, String eTag, String resource) {
+        boolean notModified = webRequest.checkNotModified(eTag);
+        meterRegistry.counter(CACHE_METRIC, "resource", resource, "result", notModified ? "hit" : "miss").increment();
+        return notModified;
+    }
+
+    // Responses are per attendee, so only the attendee's own client may keep them
+    private static CacheControl cacheControl(Duration maxAge) {
+        return maxAge.isZero()
+                ? CacheControl.noCache().cachePrivate()
+                : CacheControl.maxAge(maxAge).cachePrivate().mustRevalidate();
+    }
+
+    // A reissued or revoked code is a new version, and so is any image rendered under a new key or settings
+    private static String qrCodeETag(QrCodeVersionView qrCode, String renderVersion) {
+        return qrCode.getId() + "-" + qrCode.getStatus().name().toLowerCase() + "-" + renderVersion;
+    }
+
+    private static String ticketETag(TicketVersionView ticket) {
+        LocalDateTime lastModified = Stream.of(ticket.getUpdatedAt(), ticket.getTicketTypeUpdatedAt(), ticket.getEventUpdatedAt())
+                .max(LocalDateTime::compareTo)
+                .orElseThrow();
+        long micros = lastModified.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + lastModified.getNano() / 1_000;
+        return ticket.getId() + "-" + Long.toHexString(micros);
     }
 }
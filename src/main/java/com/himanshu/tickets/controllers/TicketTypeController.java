@@ -1,16 +1,21 @@
 package com.himanshu.tickets.controllers;
 
+import com.himanshu.tickets.domain.PurchaseTicketItem;
+import com.himanshu.tickets.domain.PurchaseTicketsRequest;
+import com.himanshu.tickets.domain.dtos.PurchaseTicketsRequestDto;
+import com.himanshu.tickets.domain.dtos.PurchaseTicketsResponseDto;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.mappers.TicketMapper;
 import com.himanshu.tickets.services.TicketTypeService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 import static com.himanshu.tickets.util.JwtUtil.parseUserId;
@@ -21,6 +26,7 @@ import static com.himanshu.tickets.util.JwtUtil.parseUserId;
 public class TicketTypeController {
 
     private final TicketTypeService ticketTypeService;
+    private final TicketMapper ticketMapper;
 
     @PostMapping(path = "/{ticketTypeId}/tickets")
     public ResponseEntity<Void> purchaseTicket(
@@ -32,5 +38,36 @@ public class TicketTypeController {
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PostMapping(path = "/{ticketTypeId}/tickets", params = "quantity")
+    public ResponseEntity<PurchaseTicketsResponseDto> purchaseTickets(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID eventId,
+            @PathVariable UUID ticketTypeId,
+            @RequestParam int quantity
+    ){
+        PurchaseTicketsRequest purchaseTicketsRequest = new PurchaseTicketsRequest(
+                List.of(new PurchaseTicketItem(ticketTypeId, quantity)), eventId);
+
+        return purchase(jwt, purchaseTicketsRequest);
+    }
+
+    @PostMapping(path = "/purchases")
+    public ResponseEntity<PurchaseTicketsResponseDto> purchaseBasket(
+            @AuthenticationPrincipal Jwt jwt,
+            @PathVariable UUID eventId,
+            @Valid @RequestBody PurchaseTicketsRequestDto purchaseTicketsRequestDto
+    ){
+        return purchase(jwt, ticketMapper.fromDto(purchaseTicketsRequestDto, eventId));
+    }
+
+    private ResponseEntity<PurchaseTicketsResponseDto> purchase(Jwt jwt, PurchaseTicketsRequest purchaseTicketsRequest) {
+        List<UUID> ticketIds = ticketTypeService.purchaseTickets(parseUserId(jwt), purchaseTicketsRequest)
+                .stream()
+                .map(Ticket::getId)
+                .toList();
+
+        return new ResponseEntity<>(new PurchaseTicketsResponseDto(ticketIds), HttpStatus.CREATED);
+    }
+
 
 }
@@ -1,17 +1,29 @@
 package com.himanshu.tickets.controllers;
 
+import com.himanshu.tickets.domain.TicketManifest;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.dtos.CheckInSnapshotResponseDto;
+import com.himanshu.tickets.domain.dtos.OfflineTicketValidationBatchRequestDto;
+import com.himanshu.tickets.domain.dtos.TicketValidationBatchRequestDto;
 import com.himanshu.tickets.domain.dtos.TicketValidationRequestDto;
 import com.himanshu.tickets.domain.dtos.TicketValidationResponseDto;
 import com.himanshu.tickets.domain.entities.TicketValidation;
 import com.himanshu.tickets.domain.entities.TicketValidationMethod;
 import com.himanshu.tickets.mappers.TicketValidationMapper;
+import com.himanshu.tickets.services.CheckInCounterService;
 import com.himanshu.tickets.services.TicketValidationService;
+import com.himanshu.tickets.util.TicketManifestWriter;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
 
 @RestController
 @RequestMapping(path = "/api/v1/ticket-validations")
@@ -20,19 +32,83 @@ public class TicketValidationController {
 
     private final TicketValidationService ticketValidationService;
     private final TicketValidationMapper ticketValidationMapper;
+    private final CheckInCounterService checkInCounterService;
 
     @PostMapping
-    public ResponseEntity<TicketValidationResponseDto> validateTicket(@RequestBody TicketValidationRequestDto ticketValidationRequestDto) {
+    public ResponseEntity<TicketValidationResponseDto> validateTicket(@Valid @RequestBody TicketValidationRequestDto ticketValidationRequestDto) {
         TicketValidationMethod method = ticketValidationRequestDto.getMethod();
         TicketValidation ticketValidation;
 
-        if (TicketValidationMethod.MANUAL.equals(method)) {
+        if (ticketValidationRequestDto.getPayload() != null) {
+            ticketValidation = ticketValidationService.validateTicketByQrPayload(
+                    ticketValidationRequestDto.getPayload(), ticketValidationRequestDto.getEventId(),
+                    ticketValidationRequestDto.getGate());
+        } else if (TicketValidationMethod.MANUAL.equals(method)) {
             ticketValidation = ticketValidationService.validateTicketManually(
-                    ticketValidationRequestDto.getId());
+                    ticketValidationRequestDto.getId(), ticketValidationRequestDto.getGate());
         } else {
-            ticketValidation = ticketValidationService.validateTicketByQrCode(
-                    ticketValidationRequestDto.getId());
+            // A bare id is an unsigned payload, so the codec decides whether it is still accepted
+            ticketValidation = ticketValidationService.validateTicketByQrPayload(
+                    Objects.toString(ticketValidationRequestDto.getId(), null), ticketValidationRequestDto.getEventId(),
+                    ticketValidationRequestDto.getGate());
         }
         return ResponseEntity.ok(ticketValidationMapper.toTicketValidationResponseDto(ticketValidation));
     }
+
+    @PostMapping(path = "/batch")
+    public ResponseEntity<List<TicketValidationResponseDto>> validateTickets(
+            @Valid @RequestBody TicketValidationBatchRequestDto ticketValidationBatchRequestDto
+    ) {
+        List<TicketValidation> ticketValidations = ticketValidationService.validateTickets(
+                ticketValidationBatchRequestDto.getScans().stream()
+                        .map(scan -> fromDto(scan, ticketValidationBatchRequestDto.getGate()))
+                        .toList());
+        return ResponseEntity.ok(ticketValidations.stream()
+                .map(ticketValidationMapper::toTicketValidationResponseDto)
+                .toList());
+    }
+
+    // Scans that name no gate of their own were made at the batch's
+    private TicketValidationRequest fromDto(TicketValidationRequestDto scan, String batchGate) {
+        TicketValidationRequest request = ticketValidationMapper.fromDto(scan);
+        if (request.getGate() == null) {
+            request.setGate(batchGate);
+        }
+        return request;
+    }
+
+    @GetMapping(path = "/manifests/{eventId}")
+    public ResponseEntity<byte[]> getTicketManifest(
+            @PathVariable UUID eventId,
+            @RequestParam(required = false) Long sinceVersion
+    ) {
+        TicketManifest ticketManifest = ticketValidationService.getTicketManifest(eventId, sinceVersion);
+        byte[] manifest = TicketManifestWriter.write(ticketManifest);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.setContentLength(manifest.length);
+        return ResponseEntity.ok().headers(headers).body(manifest);
+    }
+
+    @PostMapping(path = "/offline")
+    public ResponseEntity<List<TicketValidationResponseDto>> syncOfflineValidations(
+            @Valid @RequestBody OfflineTicketValidationBatchRequestDto offlineTicketValidationBatchRequestDto
+    ) {
+        List<TicketValidation> ticketValidations = ticketValidationService.syncOfflineValidations(
+                ticketValidationMapper.fromDto(offlineTicketValidationBatchRequestDto));
+        return ResponseEntity.ok(ticketValidations.stream()
+                .map(ticketValidationMapper::toTicketValidationResponseDto)
+                .toList());
+    }
+
+    @GetMapping(path = "/check-ins/{eventId}")
+    public ResponseEntity<CheckInSnapshotResponseDto> getCheckInSnapshot(@PathVariable UUID eventId) {
+        return ResponseEntity.ok(ticketValidationMapper.toCheckInSnapshotResponseDto(
+                checkInCounterService.getSnapshot(eventId)));
+    }
+
+    @GetMapping(path = "/check-ins/{eventId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCheckIns(@PathVariable UUID eventId) {
+        return checkInCounterService.subscribe(eventId);
+    }
 }
@@ -0,0 +1,12 @@
+package com.himanshu.tickets.domain;
+
+import java.util.UUID;
+
+public interface CheckInCount {
+
+    UUID getTicketTypeId();
+
+    String getGate();
+
+    long getAdmitted();
+}
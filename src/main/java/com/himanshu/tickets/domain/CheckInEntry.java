@@ -0,0 +1,15 @@
+package com.himanshu.tickets.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface CheckInEntry {
+
+    UUID getQrCodeId();
+
+    UUID getTicketId();
+
+    UUID getTicketTypeId();
+
+    LocalDateTime getFirstValidatedAt();
+}
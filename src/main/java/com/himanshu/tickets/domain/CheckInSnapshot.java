@@ -0,0 +1,23 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckInSnapshot {
+
+    private UUID eventId;
+    // Grows with every admission; equal versions carry equal counts
+    private long version;
+    private long admitted;
+    private Map<UUID, Long> admittedByTicketType = new HashMap<>();
+    // Only scans that reported a gate are counted here
+    private Map<String, Long> admittedByGate = new HashMap<>();
+}
@@ -1,5 +1,6 @@
 package com.himanshu.tickets.domain;
 
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,5 +13,7 @@ public class CreateTicketTypeRequest {
     private double price;
     private String description;
     private Integer totalAvailable;
+    private TicketInventoryModeEnum inventoryMode;
+    private Integer inventoryBucketCount;
 
 }
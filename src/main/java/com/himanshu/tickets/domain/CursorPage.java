@@ -0,0 +1,43 @@
+package com.himanshu.tickets.domain;
+
+import com.himanshu.tickets.util.CursorUtil;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One slice of a keyset-paginated list. There is no total count; {@code nextCursor} is null on the last slice.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private String nextCursor;
+
+    /**
+     * @param rows up to {@code size + 1} rows; the extra row only tells whether another slice follows
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size,
+                                       Function<T, LocalDateTime> createdAt, Function<T, UUID> id) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        T last = content.getLast();
+        return new CursorPage<>(List.copyOf(content),
+                CursorUtil.encode(new KeysetCursor(createdAt.apply(last), id.apply(last))));
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,5 @@
+package com.himanshu.tickets.domain;
+
+public enum EventSearchModeEnum {
+    POSTGRES, LIKE
+}
@@ -0,0 +1,20 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventSuggestion {
+
+    private UUID id;
+    private String name;
+    private String venue;
+    private LocalDateTime start;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Position of the last row a client has seen in a list ordered by creation time, newest first.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class KeysetCursor {
+
+    private LocalDateTime createdAt;
+    private UUID id;
+}
@@ -0,0 +1,16 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OfflineTicketScan {
+    private UUID qrCodeId;
+    private LocalDateTime scannedAt;
+}
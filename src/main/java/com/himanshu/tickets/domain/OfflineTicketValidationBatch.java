@@ -0,0 +1,21 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OfflineTicketValidationBatch {
+
+    private UUID eventId;
+    private String deviceId;
+    private String gate;
+    private List<OfflineTicketScan> scans = new ArrayList<>();
+
+}
@@ -0,0 +1,24 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseTicketsRequest {
+
+    private List<PurchaseTicketItem> items = new ArrayList<>();
+
+    // Event the order was placed under; every ticket type in it must belong to that event
+    private UUID eventId;
+
+    public PurchaseTicketsRequest(List<PurchaseTicketItem> items) {
+        this(items, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.himanshu.tickets.domain;
+
+import java.util.UUID;
+
+public interface QrCodeExportEntry {
+
+    UUID getId();
+
+    UUID getTicketId();
+
+    String getTicketTypeName();
+
+    String getPurchaserName();
+}
@@ -0,0 +1,14 @@
+package com.himanshu.tickets.domain;
+
+import java.util.UUID;
+
+public interface QrCodeImageView {
+
+    UUID getId();
+
+    UUID getEventId();
+
+    byte[] getImage();
+
+    String getValue();
+}
@@ -0,0 +1,12 @@
+package com.himanshu.tickets.domain;
+
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+
+import java.util.UUID;
+
+public interface QrCodeManifestEntry {
+
+    UUID getId();
+
+    QrCodeStatusEnum getStatus();
+}
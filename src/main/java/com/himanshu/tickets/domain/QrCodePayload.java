@@ -0,0 +1,22 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QrCodePayload {
+
+    private UUID qrCodeId;
+    // Null for unsigned codes issued before payloads were signed
+    private UUID eventId;
+
+    // Unsigned codes cannot be checked against an event without a lookup, so they are let through
+    public boolean isFor(UUID expectedEventId) {
+        return expectedEventId == null || eventId == null || expectedEventId.equals(eventId);
+    }
+}
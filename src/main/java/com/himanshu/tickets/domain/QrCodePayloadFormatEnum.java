@@ -0,0 +1,8 @@
+package com.himanshu.tickets.domain;
+
+public enum QrCodePayloadFormatEnum {
+    // URL-safe Base64, stored in QR byte mode
+    BASE64,
+    // Base45, stored in the denser QR alphanumeric mode
+    COMPACT
+}
@@ -0,0 +1,10 @@
+package com.himanshu.tickets.domain;
+
+import java.util.UUID;
+
+public interface QrCodeTicketId {
+
+    UUID getQrCodeId();
+
+    UUID getTicketId();
+}
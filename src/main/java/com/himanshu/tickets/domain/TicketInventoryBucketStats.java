@@ -0,0 +1,24 @@
+package com.himanshu.tickets.domain;
+
+import java.util.UUID;
+
+public interface TicketInventoryBucketStats {
+
+    UUID getTicketTypeId();
+
+    Long getBucketCount();
+
+    Integer getMinRemaining();
+
+    Integer getMaxRemaining();
+
+    Long getTotalRemaining();
+
+    default double getSkew() {
+        if (getTotalRemaining() == null || getTotalRemaining() == 0) {
+            return 0;
+        }
+        double mean = (double) getTotalRemaining() / getBucketCount();
+        return (getMaxRemaining() - getMinRemaining()) / mean;
+    }
+}
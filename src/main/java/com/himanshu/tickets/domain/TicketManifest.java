@@ -0,0 +1,25 @@
+package com.himanshu.tickets.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketManifest {
+
+    private long version;
+    // Null for a full manifest
+    private Long sinceVersion;
+    private List<UUID> activeQrCodeIds = new ArrayList<>();
+    private List<UUID> revokedQrCodeIds = new ArrayList<>();
+
+    public boolean isDelta() {
+        return sinceVersion != null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.himanshu.tickets.domain;
+
+import com.himanshu.tickets.domain.entities.TicketValidationMethod;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketValidationRequest {
+    private UUID id;
+    private TicketValidationMethod method;
+    // Text read from a QR code; takes the place of the id when present
+    private String payload;
+    // Event the scanning gate belongs to, checked against signed payloads
+    private UUID eventId;
+    // Entrance the scan was made at, if the scanner reports one
+    private String gate;
+
+    public TicketValidationRequest(UUID id, TicketValidationMethod method) {
+        this(id, method, null, null, null);
+    }
+}
@@ -0,0 +1,21 @@
+package com.himanshu.tickets.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CheckInSnapshotResponseDto {
+
+    private UUID eventId;
+    private long version;
+    private long admitted;
+    private Map<UUID, Long> admittedByTicketType = new HashMap<>();
+    private Map<String, Long> admittedByGate = new HashMap<>();
+}
@@ -1,7 +1,9 @@
 package com.himanshu.tickets.domain.dtos;
 
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -25,4 +27,9 @@ public class CreateTicketTypeRequestDto {
 
 
     private Integer totalAvailable;
+
+    private TicketInventoryModeEnum inventoryMode;
+
+    @Positive(message = "Inventory bucket count must be greater than zero")
+    private Integer inventoryBucketCount;
 }
@@ -0,0 +1,21 @@
+package com.himanshu.tickets.domain.dtos;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OfflineTicketScanRequestDto {
+
+    @NotNull(message = "QR code ID is required")
+    private UUID qrCodeId;
+
+    @NotNull(message = "Scan time is required")
+    private LocalDateTime scannedAt;
+}
@@ -0,0 +1,30 @@
+package com.himanshu.tickets.domain.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OfflineTicketValidationBatchRequestDto {
+
+    @NotNull(message = "Event ID is required")
+    private UUID eventId;
+
+    @NotBlank(message = "Device ID is required")
+    private String deviceId;
+
+    private String gate;
+
+    @NotEmpty(message = "At least one scan is required")
+    @Valid
+    private List<OfflineTicketScanRequestDto> scans;
+}
@@ -0,0 +1,17 @@
+package com.himanshu.tickets.domain.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PurchaseTicketsResponseDto {
+
+    private List<UUID> ticketIds = new ArrayList<>();
+}
@@ -0,0 +1,24 @@
+package com.himanshu.tickets.domain.dtos;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TicketValidationBatchRequestDto {
+
+    @NotEmpty(message = "At least one scan is required")
+    @Size(max = 1000, message = "A batch holds at most 1000 scans")
+    @Valid
+    private List<TicketValidationRequestDto> scans;
+
+    // Entrance of the scanner sending the batch; scans naming their own gate keep it
+    private String gate;
+}
@@ -2,6 +2,8 @@ package com.himanshu.tickets.domain.dtos;
 
 import com.himanshu.tickets.domain.entities.TicketValidation;
 import com.himanshu.tickets.domain.entities.TicketValidationMethod;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,6 +15,15 @@ import java.util.UUID;
 @NoArgsConstructor
 public class TicketValidationRequestDto {
     private UUID id;
+    @Size(max = 128, message = "QR payload is too long")
+    private String payload;
+    private UUID eventId;
     private TicketValidationMethod method;
+    // Entrance the scan was made at, counted in the live check-in snapshot
+    private String gate;
 
+    @AssertTrue(message = "ID or QR payload is required")
+    public boolean isIdOrPayloadPresent() {
+        return id != null || payload != null;
+    }
 }
@@ -1,7 +1,9 @@
 package com.himanshu.tickets.domain.dtos;
 
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -28,4 +30,9 @@ public class UpdateTicketTypeRequestDto {
 
 
     private Integer totalAvailable;
+
+    private TicketInventoryModeEnum inventoryMode;
+
+    @Positive(message = "Inventory bucket count must be greater than zero")
+    private Integer inventoryBucketCount;
 }
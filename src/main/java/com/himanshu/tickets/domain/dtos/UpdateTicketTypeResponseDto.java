@@ -1,5 +1,6 @@
 package com.himanshu.tickets.domain.dtos;
 
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +23,10 @@ public class UpdateTicketTypeResponseDto {
 
     private Integer totalAvailable;
 
+    private TicketInventoryModeEnum inventoryMode;
+
+    private Integer inventoryBucketCount;
+
     private LocalDateTime createdAt;
 
     private LocalDateTime updatedAt;
@@ -2,6 +2,7 @@ package com.himanshu.tickets.domain.entities;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 
@@ -12,7 +13,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_status_created", columnList = "status, created_at, id"),
+        @Index(name = "idx_events_organizer_created", columnList = "organizer_id, created_at, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -60,7 +64,9 @@ public class Event {
     private List<User> staff = new ArrayList<>();
 
 
+    // A page of events loads all of its ticket types in one query instead of one per event
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<TicketType> ticketTypes = new ArrayList<>();
 
 
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -16,7 +17,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Builder
-public class QrCode {
+public class QrCode implements Persistable<UUID> {
 
     @Id
     @Column(name = "id", nullable = false,updatable = false)
@@ -28,10 +29,16 @@ public class QrCode {
     private QrCodeStatusEnum status;
 
 
-    @Column(name = "value", nullable = false,columnDefinition = "TEXT")
+    // Legacy Base64 PNG, cleared once QrCodeImageMigrationJob has moved it into image
+    @Column(name = "value", columnDefinition = "TEXT")
     private String value;
 
 
+    // Raw PNG, null until the render pipeline has stored the image
+    @Column(name = "image", length = 65536)
+    private byte[] image;
+
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id")
     private Ticket ticket;
@@ -46,6 +53,21 @@ public class QrCode {
     @Column(name = "updated_at",nullable = false)
     private LocalDateTime updatedAt;
 
+    // IDs are assigned before persisting, so track newness to let save() persist instead of merge
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
@@ -12,7 +12,11 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "tickets")
+@Table(name = "tickets", indexes = {
+        @Index(name = "idx_tickets_purchaser_ticket_type", columnList = "purchaser_id, ticket_type_id"),
+        @Index(name = "idx_tickets_ticket_type", columnList = "ticket_type_id"),
+        @Index(name = "idx_tickets_purchaser_created", columnList = "purchaser_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -38,6 +42,10 @@ public class Ticket {
     private User purchaser;
 
 
+    // Set once by a conditional UPDATE when the ticket is first admitted; never written by dirty checking
+    @Column(name = "first_validated_at", insertable = false, updatable = false)
+    private LocalDateTime firstValidatedAt;
+
     @OneToMany(mappedBy = "ticket",cascade = CascadeType.ALL)
     private List<TicketValidation> validations = new ArrayList<>();
 
@@ -0,0 +1,7 @@
+package com.himanshu.tickets.domain.entities;
+
+public enum TicketInventoryModeEnum {
+    COUNTER,
+    SHARDED,
+    IN_MEMORY
+}
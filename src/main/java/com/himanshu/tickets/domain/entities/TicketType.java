@@ -37,6 +37,18 @@ public class TicketType {
     @Column(name = "total_available", nullable = true)
     private Integer totalAvailable;
 
+    @Column(name = "sold", nullable = false, updatable = false,
+            columnDefinition = "integer default 0 not null")
+    @Builder.Default
+    private Integer sold = 0;
+
+    @Column(name = "inventory_mode")
+    @Enumerated(EnumType.STRING)
+    private TicketInventoryModeEnum inventoryMode;
+
+    @Column(name = "inventory_bucket_count")
+    private Integer inventoryBucketCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     private Event event;
@@ -45,6 +57,10 @@ public class TicketType {
     @OneToMany(mappedBy = "ticketType",cascade = CascadeType.ALL)
     private List<Ticket> tickets = new ArrayList<>();
 
+    @OneToMany(mappedBy = "ticketType", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Builder.Default
+    private List<TicketInventoryBucket> inventoryBuckets = new ArrayList<>();
+
 
     @CreatedDate
     @Column(name = "created_at",updatable = false,nullable = false)
@@ -55,6 +71,14 @@ public class TicketType {
     @Column(name = "updated_at",nullable = false)
     private LocalDateTime updatedAt;
 
+    public boolean isSharded() {
+        return TicketInventoryModeEnum.SHARDED.equals(inventoryMode);
+    }
+
+    public boolean isInMemory() {
+        return TicketInventoryModeEnum.IN_MEMORY.equals(inventoryMode);
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
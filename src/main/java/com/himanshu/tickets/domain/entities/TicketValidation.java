@@ -35,6 +35,18 @@ public class TicketValidation {
     @JoinColumn(name = "ticket_id")
     private Ticket ticket;
 
+    // When the ticket was presented; for offline scans this is the scanner's clock, not the upload time
+    @Column(name = "scanned_at")
+    private LocalDateTime scannedAt;
+
+    // Set for scans uploaded by an offline gate scanner
+    @Column(name = "device_id")
+    private String deviceId;
+
+    // Entrance reported by the scanner, online or offline
+    @Column(name = "gate")
+    private String gate;
+
     @CreatedDate
     @Column(name = "created_at",updatable = false,nullable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,22 @@
+package com.himanshu.tickets.exceptions;
+
+public class InvalidCursorException extends EventTicketException {
+    public InvalidCursorException() {
+    }
+
+    public InvalidCursorException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public InvalidCursorException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
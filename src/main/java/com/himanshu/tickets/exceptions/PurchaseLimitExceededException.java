@@ -0,0 +1,22 @@
+package com.himanshu.tickets.exceptions;
+
+public class PurchaseLimitExceededException extends EventTicketException {
+    public PurchaseLimitExceededException() {
+    }
+
+    public PurchaseLimitExceededException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+
+    public PurchaseLimitExceededException(Throwable cause) {
+        super(cause);
+    }
+
+    public PurchaseLimitExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PurchaseLimitExceededException(String message) {
+        super(message);
+    }
+}
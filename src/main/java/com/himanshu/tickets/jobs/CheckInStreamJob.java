@@ -0,0 +1,25 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.services.CheckInCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CheckInStreamJob {
+
+    private final CheckInCounterService checkInCounterService;
+
+    // Caps how often dashboards are pushed to, however fast the gates are scanning
+    @Scheduled(fixedDelayString = "${tickets.check-ins.stream.interval}")
+    public void publish() {
+        try {
+            checkInCounterService.publishUpdates();
+        } catch (RuntimeException ex) {
+            log.error("Failed to publish check-in updates", ex);
+        }
+    }
+}
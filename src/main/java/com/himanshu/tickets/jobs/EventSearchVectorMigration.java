@@ -0,0 +1,46 @@
+package com.himanshu.tickets.jobs;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds the PostgreSQL search vector that Hibernate's schema update cannot express: a stored generated
+ * tsvector with event names weighted above venues, and a GIN index over the published rows. Both statements
+ * are no-ops once applied; the first run rewrites the events table to fill the column. Runs once all beans are
+ * created and before the web server starts, so search never sees the column missing and the rewrite's table lock
+ * is not held against live requests.
+ */
+@Component
+@ConditionalOnProperty(name = "tickets.search.mode", havingValue = "postgres", matchIfMissing = true)
+@Slf4j
+public class EventSearchVectorMigration implements SmartInitializingSingleton {
+
+    private static final String ADD_SEARCH_VECTOR =
+            "ALTER TABLE events ADD COLUMN IF NOT EXISTS search_vector tsvector GENERATED ALWAYS AS (" +
+            "setweight(to_tsvector('english', COALESCE(name, '')), 'A') || " +
+            "setweight(to_tsvector('english', COALESCE(venue, '')), 'B')) STORED";
+
+    private static final String CREATE_SEARCH_INDEX =
+            "CREATE INDEX IF NOT EXISTS idx_events_search_vector ON events USING GIN (search_vector) " +
+            "WHERE status = 'PUBLISHED'";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EventSearchVectorMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrate();
+    }
+
+    public void migrate() {
+        jdbcTemplate.execute(ADD_SEARCH_VECTOR);
+        jdbcTemplate.execute(CREATE_SEARCH_INDEX);
+        log.info("Event search vector and index are in place");
+    }
+}
@@ -0,0 +1,33 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.services.EventSuggestionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSuggestionIndexJob {
+
+    private final EventSuggestionService eventSuggestionService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        rebuild();
+    }
+
+    // Picks up event changes made through other instances
+    @Scheduled(initialDelayString = "${tickets.search.suggest.refresh-interval}",
+            fixedDelayString = "${tickets.search.suggest.refresh-interval}")
+    public void rebuild() {
+        try {
+            eventSuggestionService.rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Failed to rebuild the typeahead index", ex);
+        }
+    }
+}
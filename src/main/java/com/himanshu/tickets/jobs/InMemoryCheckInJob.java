@@ -0,0 +1,39 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.services.impl.InMemoryTicketValidationServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "tickets.validation.engine", havingValue = "in-memory")
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryCheckInJob {
+
+    private final InMemoryTicketValidationServiceImpl inMemoryTicketValidationService;
+
+    // Also runs on startup, which rebuilds the indexes of events already open for check-in
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${tickets.validation.in-memory.refresh-interval}",
+            initialDelayString = "${tickets.validation.in-memory.refresh-interval}")
+    public void refresh() {
+        try {
+            inMemoryTicketValidationService.refreshLoadedEvents();
+        } catch (RuntimeException ex) {
+            log.error("Failed to refresh check-in indexes", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.validation.in-memory.flush-interval}")
+    public void flush() {
+        // Drains everything queued since the last run; a failed batch stays queued for the next one
+        while (inMemoryTicketValidationService.flushPendingCheckIns() > 0) {
+            // keep flushing
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.services.TicketTypeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryTicketInventoryWarmUp {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketTypeService ticketTypeService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        List<UUID> ticketTypeIds = ticketTypeRepository.findIdsByInventoryMode(TicketInventoryModeEnum.IN_MEMORY);
+        if (ticketTypeIds.isEmpty()) {
+            return;
+        }
+
+        // Counters are rebuilt from the tickets table, which holds every acknowledged purchase
+        ticketTypeIds.forEach(ticketTypeService::reconcileInventory);
+
+        log.info("Loaded {} in-memory ticket type(s)", ticketTypeIds.size());
+    }
+}
@@ -0,0 +1,82 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.domain.QrCodeImageView;
+import com.himanshu.tickets.domain.entities.QrCodeRenderJob;
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Moves legacy Base64 QR codes into the binary image column a batch at a time.
+ * Reads fall back to the Base64 value until a row is migrated, so this runs
+ * alongside live traffic and goes idle once no legacy rows remain.
+ */
+@Component
+@Slf4j
+public class QrCodeImageMigrationJob {
+
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeRenderJobRepository qrCodeRenderJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private volatile boolean finished;
+
+    public QrCodeImageMigrationJob(QrCodeRepository qrCodeRepository,
+                                   QrCodeRenderJobRepository qrCodeRenderJobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${tickets.qr-code.image-migration.batch-size:500}") int batchSize) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeRenderJobRepository = qrCodeRenderJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.qr-code.image-migration.interval}")
+    public void migrate() {
+        if (finished) {
+            return;
+        }
+        int migrated = 0;
+        List<QrCodeImageView> batch;
+        do {
+            // Each batch commits on its own so row locks are held briefly
+            batch = transactionTemplate.execute(status -> migrateBatch());
+            migrated += batch.size();
+        } while (batch.size() == batchSize);
+
+        if (migrated > 0) {
+            log.info("Migrated {} QR code(s) to binary images", migrated);
+        } else {
+            finished = true;
+        }
+    }
+
+    private List<QrCodeImageView> migrateBatch() {
+        List<QrCodeImageView> batch = qrCodeRepository.findLegacyImages(PageRequest.of(0, batchSize));
+        for (QrCodeImageView qrCode : batch) {
+            byte[] image;
+            try {
+                image = Base64.getDecoder().decode(qrCode.getValue());
+            } catch (IllegalArgumentException ex) {
+                // Discarded and queued for the render pipeline, which draws it again from the id
+                log.error("Invalid base64 QR Code {}, discarding it", qrCode.getId(), ex);
+                image = null;
+            }
+            qrCodeRepository.migrateLegacyImage(qrCode.getId(), image);
+            if (image == null) {
+                qrCodeRenderJobRepository.save(QrCodeRenderJob.builder().qrCodeId(qrCode.getId()).build());
+            }
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,41 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.services.impl.QrCodeRenderPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class QrCodeRenderSweepJob {
+
+    private final QrCodeRenderJobRepository qrCodeRenderJobRepository;
+    private final QrCodeRenderPipeline qrCodeRenderPipeline;
+
+    @Value("${tickets.qr-code.render.sweep-grace-period:1m}")
+    private Duration gracePeriod;
+
+    @Value("${tickets.qr-code.render.sweep-batch-size:500}")
+    private int batchSize;
+
+    // Picks up renders lost to a full queue, a failed render or a restart between commit and render
+    @Scheduled(fixedDelayString = "${tickets.qr-code.render.sweep-interval}")
+    public void sweep() {
+        List<UUID> qrCodeIds = qrCodeRenderJobRepository.findQrCodeIdsCreatedBefore(
+                LocalDateTime.now().minus(gracePeriod), PageRequest.of(0, batchSize));
+        if (!qrCodeIds.isEmpty()) {
+            log.info("Resubmitting {} pending QR code render(s)", qrCodeIds.size());
+            qrCodeRenderPipeline.submit(qrCodeIds);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.repositories.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills tickets.first_validated_at for tickets admitted before the column existed,
+ * so their next scan is rejected by the conditional update like any other. Runs before the web server
+ * starts; until it has, such a ticket would be admitted a second time.
+ */
+@Component
+@Slf4j
+public class TicketFirstValidationBackfill implements SmartInitializingSingleton {
+
+    private final TicketRepository ticketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketFirstValidationBackfill(TicketRepository ticketRepository, PlatformTransactionManager transactionManager) {
+        this.ticketRepository = ticketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    public void backfill() {
+        Integer updated = transactionTemplate.execute(status -> ticketRepository.backfillFirstValidatedAt());
+        if (updated != null && updated > 0) {
+            log.info("Backfilled first validation time for {} ticket(s)", updated);
+        }
+    }
+}
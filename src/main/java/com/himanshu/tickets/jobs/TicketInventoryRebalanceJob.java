@@ -0,0 +1,52 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.domain.TicketInventoryBucketStats;
+import com.himanshu.tickets.repositories.TicketInventoryBucketRepository;
+import com.himanshu.tickets.services.TicketTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+public class TicketInventoryRebalanceJob {
+
+    private final TicketInventoryBucketRepository ticketInventoryBucketRepository;
+    private final TicketTypeService ticketTypeService;
+    private final MultiGauge bucketSkew;
+
+    public TicketInventoryRebalanceJob(TicketInventoryBucketRepository ticketInventoryBucketRepository,
+                                       TicketTypeService ticketTypeService,
+                                       MeterRegistry meterRegistry) {
+        this.ticketInventoryBucketRepository = ticketInventoryBucketRepository;
+        this.ticketTypeService = ticketTypeService;
+        this.bucketSkew = MultiGauge.builder("tickets.inventory.bucket.skew")
+                .description("Spread between the fullest and emptiest inventory bucket relative to the mean")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tickets.inventory.rebalance.interval}")
+    public void rebalance() {
+        List<TicketInventoryBucketStats> stats = ticketInventoryBucketRepository.findBucketStats();
+
+        bucketSkew.register(stats.stream()
+                .map(s -> MultiGauge.Row.of(Tags.of("ticketType", s.getTicketTypeId().toString()), s.getSkew()))
+                .toList(), true);
+
+        for (TicketInventoryBucketStats s : stats) {
+            // A drained bucket only matters while its siblings still hold enough to refill every bucket
+            if (s.getMinRemaining() == 0 && s.getTotalRemaining() >= s.getBucketCount()) {
+                try {
+                    ticketTypeService.rebalanceInventoryBuckets(s.getTicketTypeId());
+                } catch (RuntimeException ex) {
+                    log.error("Failed to rebalance inventory buckets for ticket type {}", s.getTicketTypeId(), ex);
+                }
+            }
+        }
+    }
+}
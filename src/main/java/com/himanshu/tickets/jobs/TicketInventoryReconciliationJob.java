@@ -0,0 +1,34 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.services.TicketTypeService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketInventoryReconciliationJob {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TicketTypeService ticketTypeService;
+
+    @Scheduled(cron = "${tickets.inventory.reconciliation.cron}")
+    public void reconcile() {
+        int corrected = 0;
+        for (UUID ticketTypeId : ticketTypeRepository.findAllIds()) {
+            try {
+                if (ticketTypeService.reconcileInventory(ticketTypeId)) {
+                    corrected++;
+                }
+            } catch (RuntimeException ex) {
+                log.error("Failed to reconcile inventory for ticket type {}", ticketTypeId, ex);
+            }
+        }
+        log.info("Inventory reconciliation finished, {} ticket type(s) corrected", corrected);
+    }
+}
@@ -0,0 +1,38 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Recounts ticket_types.sold from the tickets table. Ticket types that existed before the counter column got
+ * the column default of 0, and the conditional increment would oversell them, so this runs once all beans are
+ * created and before the web server starts taking purchases.
+ */
+@Component
+@Slf4j
+public class TicketSoldCounterBackfill implements SmartInitializingSingleton {
+
+    private final TicketTypeRepository ticketTypeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public TicketSoldCounterBackfill(TicketTypeRepository ticketTypeRepository, PlatformTransactionManager transactionManager) {
+        this.ticketTypeRepository = ticketTypeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        backfill();
+    }
+
+    public void backfill() {
+        Integer updated = transactionTemplate.execute(status -> ticketTypeRepository.backfillSold());
+        if (updated != null && updated > 0) {
+            log.info("Backfilled sold counter for {} ticket type(s)", updated);
+        }
+    }
+}
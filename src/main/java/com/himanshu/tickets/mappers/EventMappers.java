@@ -2,6 +2,7 @@ package com.himanshu.tickets.mappers;
 
 import com.himanshu.tickets.domain.CreateEventRequest;
 import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.EventSuggestion;
 import com.himanshu.tickets.domain.UpdateEventRequest;
 import com.himanshu.tickets.domain.UpdateTicketTypeRequest;
 import com.himanshu.tickets.domain.dtos.*;
@@ -42,6 +43,10 @@ public interface EventMappers {
 
     GetPublishedEventDetailsResponseDto toGetPublishedEventDetailsResponseDto(Event event);
 
+    EventSuggestion toEventSuggestion(Event event);
+
+    EventSuggestionResponseDto toEventSuggestionResponseDto(EventSuggestion suggestion);
+
 
 
 }
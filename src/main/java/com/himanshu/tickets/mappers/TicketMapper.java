@@ -1,8 +1,12 @@
 package com.himanshu.tickets.mappers;
 
+import com.himanshu.tickets.domain.PurchaseTicketItem;
+import com.himanshu.tickets.domain.PurchaseTicketsRequest;
 import com.himanshu.tickets.domain.dtos.GetTicketResponseDto;
 import com.himanshu.tickets.domain.dtos.ListTicketResponseDto;
 import com.himanshu.tickets.domain.dtos.ListTicketTicketTypeResponseDto;
+import com.himanshu.tickets.domain.dtos.PurchaseTicketItemRequestDto;
+import com.himanshu.tickets.domain.dtos.PurchaseTicketsRequestDto;
 import com.himanshu.tickets.domain.entities.Ticket;
 import com.himanshu.tickets.domain.entities.TicketType;
 import org.mapstruct.Mapper;
@@ -10,9 +14,15 @@ import org.mapstruct.Mapping;
 import org.mapstruct.Mappings;
 import org.mapstruct.ReportingPolicy;
 
+import java.util.UUID;
+
 @Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
 public interface TicketMapper {
 
+    PurchaseTicketItem fromDto(PurchaseTicketItemRequestDto dto);
+
+    PurchaseTicketsRequest fromDto(PurchaseTicketsRequestDto dto, UUID eventId);
+
     ListTicketTicketTypeResponseDto toListTicketTicketTypeResponseDto(TicketType ticketType);
 
     ListTicketResponseDto toListTicketResponseDto(Ticket ticket);
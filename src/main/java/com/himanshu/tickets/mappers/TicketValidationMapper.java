@@ -1,5 +1,13 @@
 package com.himanshu.tickets.mappers;
 
+import com.himanshu.tickets.domain.CheckInSnapshot;
+import com.himanshu.tickets.domain.OfflineTicketScan;
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.dtos.CheckInSnapshotResponseDto;
+import com.himanshu.tickets.domain.dtos.OfflineTicketScanRequestDto;
+import com.himanshu.tickets.domain.dtos.OfflineTicketValidationBatchRequestDto;
+import com.himanshu.tickets.domain.dtos.TicketValidationRequestDto;
 import com.himanshu.tickets.domain.dtos.TicketValidationResponseDto;
 import com.himanshu.tickets.domain.entities.TicketValidation;
 import org.mapstruct.Mapper;
@@ -11,4 +19,12 @@ public interface TicketValidationMapper {
 
     @Mapping(target = "ticketId", source = "ticket.id")
     TicketValidationResponseDto toTicketValidationResponseDto(TicketValidation ticketValidation);
+
+    TicketValidationRequest fromDto(TicketValidationRequestDto dto);
+
+    OfflineTicketScan fromDto(OfflineTicketScanRequestDto dto);
+
+    OfflineTicketValidationBatch fromDto(OfflineTicketValidationBatchRequestDto dto);
+
+    CheckInSnapshotResponseDto toCheckInSnapshotResponseDto(CheckInSnapshot checkInSnapshot);
 }
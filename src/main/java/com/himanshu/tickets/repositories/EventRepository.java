@@ -1,14 +1,19 @@
 package com.himanshu.tickets.repositories;
 
+import com.himanshu.tickets.domain.EventSuggestion;
 import com.himanshu.tickets.domain.entities.Event;
 import com.himanshu.tickets.domain.entities.EventStatusEnum;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,24 +22,69 @@ public interface EventRepository extends JpaRepository<Event, UUID> {
 
     Page<Event> findByOrganizerId(UUID organizerId, Pageable pageable);
 
+    // Keyset slices, newest first; each walks the matching (…, created_at, id) index from the cursor on
+    @Query("SELECT e FROM Event e WHERE e.organizer.id = :organizerId ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> scrollByOrganizerId(@Param("organizerId") UUID organizerId, Limit limit);
+
+    @Query("SELECT e FROM Event e WHERE e.organizer.id = :organizerId AND (e.createdAt, e.id) < (:createdAt, :id) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> scrollByOrganizerIdAfter(
+            @Param("organizerId") UUID organizerId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @EntityGraph(attributePaths = "ticketTypes")
     Optional<Event> findByIdAndOrganizerId(UUID id, UUID organizerId);
 
     Page<Event> findByStatus(EventStatusEnum status, Pageable pageable);
 
-    @Query(value = "SELECT * FROM events WHERE " +
-            "status = 'PUBLISHED' AND " +
-            "to_tsvector('english', COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-            "@@ plainto_tsquery('english', :searchTerm)",
-            countQuery = "SELECT count(*) FROM events WHERE " +
-                    "status = 'PUBLISHED' AND " +
-                    "to_tsvector('english', COALESCE(name, '') || ' ' || COALESCE(venue, '')) " +
-                    "@@ plainto_tsquery('english', :searchTerm)",
+    @Query("SELECT e FROM Event e WHERE e.status = :status ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> scrollByStatus(@Param("status") EventStatusEnum status, Limit limit);
+
+    @Query("SELECT e FROM Event e WHERE e.status = :status AND (e.createdAt, e.id) < (:createdAt, :id) " +
+            "ORDER BY e.createdAt DESC, e.id DESC")
+    List<Event> scrollByStatusAfter(
+            @Param("status") EventStatusEnum status,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    // search_vector and its GIN index are created by EventSearchVectorMigration
+    @Query(value = "SELECT e.* FROM events e, plainto_tsquery('english', :searchTerm) query " +
+            "WHERE e.status = 'PUBLISHED' AND e.search_vector @@ query " +
+            "ORDER BY ts_rank(e.search_vector, query) DESC, e.id",
+            countQuery = "SELECT count(*) FROM events e " +
+                    "WHERE e.status = 'PUBLISHED' AND e.search_vector @@ plainto_tsquery('english', :searchTerm)",
             nativeQuery = true)
     Page<Event> searchEvents(@Param("searchTerm")  String searchTerm, Pageable pageable);
 
+    // Portable fallback for databases without full-text search: name matches rank above venue matches
+    @Query(value = "SELECT e FROM Event e WHERE e.status = :status " +
+            "AND (LOWER(e.name) LIKE :pattern ESCAPE '\\' OR LOWER(e.venue) LIKE :pattern ESCAPE '\\') " +
+            "ORDER BY CASE WHEN LOWER(e.name) LIKE :pattern ESCAPE '\\' THEN 0 ELSE 1 END, e.id",
+            countQuery = "SELECT count(e) FROM Event e WHERE e.status = :status " +
+                    "AND (LOWER(e.name) LIKE :pattern ESCAPE '\\' OR LOWER(e.venue) LIKE :pattern ESCAPE '\\')")
+    Page<Event> searchEventsByPattern(
+            @Param("status") EventStatusEnum status,
+            @Param("pattern") String pattern,
+            Pageable pageable);
 
+
+    @EntityGraph(attributePaths = "ticketTypes")
     Optional<Event> findByIdAndStatus(UUID id, EventStatusEnum status);
 
+    @Query("SELECT new com.himanshu.tickets.domain.EventSuggestion(e.id, e.name, e.venue, e.start, e.updatedAt) " +
+            "FROM Event e WHERE e.status = :status")
+    List<EventSuggestion> findSuggestionsByStatus(@Param("status") EventStatusEnum status);
+
+    @Query("SELECT e.id FROM Event e WHERE e.status = :status " +
+            "AND e.start <= :startsBefore AND (e.end IS NULL OR e.end >= :endsAfter)")
+    List<UUID> findIdsByStatusAndWindow(
+            @Param("status") EventStatusEnum status,
+            @Param("startsBefore") LocalDateTime startsBefore,
+            @Param("endsAfter") LocalDateTime endsAfter);
+
 
 
 }
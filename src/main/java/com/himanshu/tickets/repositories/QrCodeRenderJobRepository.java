@@ -0,0 +1,24 @@
+package com.himanshu.tickets.repositories;
+
+import com.himanshu.tickets.domain.entities.QrCodeRenderJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface QrCodeRenderJobRepository extends JpaRepository<QrCodeRenderJob, UUID> {
+
+    @Query("SELECT j.qrCodeId FROM QrCodeRenderJob j WHERE j.createdAt < :cutoff ORDER BY j.createdAt")
+    List<UUID> findQrCodeIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM QrCodeRenderJob j WHERE j.qrCodeId = :qrCodeId")
+    int deleteByQrCodeId(@Param("qrCodeId") UUID qrCodeId);
+}
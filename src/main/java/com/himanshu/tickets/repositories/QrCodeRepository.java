@@ -1,15 +1,105 @@
 package com.himanshu.tickets.repositories;
 
+import com.himanshu.tickets.domain.CheckInEntry;
+import com.himanshu.tickets.domain.QrCodeExportEntry;
+import com.himanshu.tickets.domain.QrCodeImageView;
+import com.himanshu.tickets.domain.QrCodeManifestEntry;
+import com.himanshu.tickets.domain.QrCodeTicketId;
+import com.himanshu.tickets.domain.QrCodeVersionView;
 import com.himanshu.tickets.domain.entities.QrCode;
 import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 @Repository
 public interface QrCodeRepository extends JpaRepository<QrCode, UUID> {
 
+    // Rows buffered per round trip by the export cursors
+    String EXPORT_FETCH_SIZE = "500";
+
     Optional<QrCode> findByTicketIdAndTicketPurchaserId(UUID ticketId, UUID ticketPurchaseId);
     Optional<QrCode> findByIdAndStatus(UUID id, QrCodeStatusEnum status);
+
+    @Query("SELECT q.ticket.ticketType.event.id FROM QrCode q WHERE q.id = :id")
+    Optional<UUID> findEventIdById(@Param("id") UUID id);
+
+    @Query("SELECT q.ticket.id FROM QrCode q WHERE q.id = :id AND q.status = :status")
+    Optional<UUID> findTicketIdByIdAndStatus(@Param("id") UUID id, @Param("status") QrCodeStatusEnum status);
+
+    @Query("SELECT q.id AS qrCodeId, q.ticket.id AS ticketId FROM QrCode q WHERE q.id IN :ids AND q.status = :status")
+    List<QrCodeTicketId> findTicketIdsByIdInAndStatus(@Param("ids") Collection<UUID> ids, @Param("status") QrCodeStatusEnum status);
+
+    @Query("SELECT q FROM QrCode q JOIN FETCH q.ticket t JOIN FETCH t.ticketType WHERE q.id IN :ids")
+    List<QrCode> findWithTicketByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT q.id FROM QrCode q WHERE q.ticket.ticketType.event.id = :eventId AND q.status = :status")
+    List<UUID> findIdsByEventIdAndStatus(@Param("eventId") UUID eventId, @Param("status") QrCodeStatusEnum status);
+
+    @Query("SELECT q.id AS qrCodeId, t.id AS ticketId, t.ticketType.id AS ticketTypeId, t.firstValidatedAt AS firstValidatedAt " +
+            "FROM QrCode q JOIN q.ticket t WHERE t.ticketType.event.id = :eventId AND q.status = :status")
+    List<CheckInEntry> findCheckInEntriesByEventIdAndStatus(
+            @Param("eventId") UUID eventId,
+            @Param("status") QrCodeStatusEnum status);
+
+    @Query("SELECT MAX(q.updatedAt) FROM QrCode q WHERE q.ticket.ticketType.event.id = :eventId")
+    LocalDateTime findLatestUpdateByEventId(@Param("eventId") UUID eventId);
+
+    @Query("SELECT q.id AS id, q.status AS status FROM QrCode q " +
+            "WHERE q.ticket.ticketType.event.id = :eventId AND q.updatedAt > :since")
+    List<QrCodeManifestEntry> findManifestEntriesUpdatedSince(
+            @Param("eventId") UUID eventId,
+            @Param("since") LocalDateTime since);
+
+    @Query("SELECT q.id AS id, q.status AS status FROM QrCode q " +
+            "WHERE q.ticket.id = :ticketId AND q.ticket.purchaser.id = :purchaserId")
+    Optional<QrCodeVersionView> findVersionByTicketIdAndPurchaserId(
+            @Param("ticketId") UUID ticketId,
+            @Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT q.id AS id, q.ticket.ticketType.event.id AS eventId, q.image AS image, q.value AS value FROM QrCode q " +
+            "WHERE q.ticket.id = :ticketId AND q.ticket.purchaser.id = :purchaserId")
+    Optional<QrCodeImageView> findImageByTicketIdAndPurchaserId(
+            @Param("ticketId") UUID ticketId,
+            @Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT q.id AS id, q.ticket.ticketType.event.id AS eventId, q.image AS image, q.value AS value FROM QrCode q " +
+            "WHERE q.image IS NULL AND q.value IS NOT NULL")
+    List<QrCodeImageView> findLegacyImages(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT q.id AS id, t.id AS ticketId, tt.name AS ticketTypeName, p.name AS purchaserName " +
+            "FROM QrCode q JOIN q.ticket t JOIN t.ticketType tt JOIN t.purchaser p " +
+            "WHERE tt.event.id = :eventId AND q.status = :status ORDER BY t.createdAt, q.id")
+    Stream<QrCodeExportEntry> streamExportEntriesByEventIdAndStatus(
+            @Param("eventId") UUID eventId,
+            @Param("status") QrCodeStatusEnum status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT q.id AS id, tt.event.id AS eventId, q.image AS image, q.value AS value " +
+            "FROM QrCode q JOIN q.ticket t JOIN t.ticketType tt " +
+            "WHERE tt.event.id = :eventId AND q.status = :status ORDER BY t.createdAt, q.id")
+    Stream<QrCodeImageView> streamImagesByEventIdAndStatus(
+            @Param("eventId") UUID eventId,
+            @Param("status") QrCodeStatusEnum status);
+
+    @Modifying
+    @Query("UPDATE QrCode q SET q.image = :image WHERE q.id = :id AND q.image IS NULL AND q.value IS NULL")
+    int updateImageIfPending(@Param("id") UUID id, @Param("image") byte[] image);
+
+    @Modifying
+    @Query("UPDATE QrCode q SET q.image = :image, q.value = NULL WHERE q.id = :id AND q.image IS NULL")
+    int migrateLegacyImage(@Param("id") UUID id, @Param("image") byte[] image);
 }
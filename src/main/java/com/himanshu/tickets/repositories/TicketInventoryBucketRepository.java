@@ -0,0 +1,37 @@
+package com.himanshu.tickets.repositories;
+
+import com.himanshu.tickets.domain.TicketInventoryBucketStats;
+import com.himanshu.tickets.domain.entities.TicketInventoryBucket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TicketInventoryBucketRepository extends JpaRepository<TicketInventoryBucket, UUID> {
+
+    @Modifying
+    @Query(value = "UPDATE ticket_inventory_buckets SET remaining = remaining - :quantity " +
+            "WHERE ticket_type_id = :ticketTypeId AND bucket_index = :bucketIndex AND remaining >= :quantity",
+            nativeQuery = true)
+    int decrementRemaining(@Param("ticketTypeId") UUID ticketTypeId,
+                           @Param("bucketIndex") int bucketIndex,
+                           @Param("quantity") int quantity);
+
+    // Always locks in bucket order so rebalancing never deadlocks with another rebalance
+    @Query("SELECT b FROM TicketInventoryBucket b WHERE b.ticketType.id = :ticketTypeId ORDER BY b.bucketIndex")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<TicketInventoryBucket> findByTicketTypeIdWithLock(@Param("ticketTypeId") UUID ticketTypeId);
+
+    @Query("SELECT b.ticketType.id AS ticketTypeId, COUNT(b) AS bucketCount, " +
+            "MIN(b.remaining) AS minRemaining, MAX(b.remaining) AS maxRemaining, " +
+            "SUM(b.remaining) AS totalRemaining " +
+            "FROM TicketInventoryBucket b GROUP BY b.ticketType.id")
+    List<TicketInventoryBucketStats> findBucketStats();
+}
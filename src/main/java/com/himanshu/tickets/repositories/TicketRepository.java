@@ -1,11 +1,23 @@
 package com.himanshu.tickets.repositories;
 
+import com.himanshu.tickets.domain.TicketCheckInTarget;
+import com.himanshu.tickets.domain.TicketVersionView;
 import com.himanshu.tickets.domain.entities.Ticket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,7 +26,60 @@ public interface TicketRepository extends JpaRepository<Ticket, UUID> {
 
     int countByTicketTypeId(UUID ticketTypeId);
 
+    int countByTicketTypeIdAndPurchaserId(UUID ticketTypeId, UUID purchaserId);
+
+    // List rows carry their ticket type, so it is joined in rather than loaded per ticket
+    @EntityGraph(attributePaths = "ticketType")
     Page<Ticket> findByPurchaserId(UUID purchaserId, Pageable pageable);
 
+    @EntityGraph(attributePaths = "ticketType")
+    @Query("SELECT t FROM Ticket t WHERE t.purchaser.id = :purchaserId ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> scrollByPurchaserId(@Param("purchaserId") UUID purchaserId, Limit limit);
+
+    @EntityGraph(attributePaths = "ticketType")
+    @Query("SELECT t FROM Ticket t WHERE t.purchaser.id = :purchaserId AND (t.createdAt, t.id) < (:createdAt, :id) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<Ticket> scrollByPurchaserIdAfter(
+            @Param("purchaserId") UUID purchaserId,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @EntityGraph(attributePaths = {"ticketType", "ticketType.event"})
     Optional<Ticket> findByIdAndPurchaserId(UUID id, UUID purchaserId);
+
+    // Everything GetTicketResponseDto is mapped from, reduced to its modification times
+    @Query("SELECT t.id AS id, t.updatedAt AS updatedAt, tt.updatedAt AS ticketTypeUpdatedAt, e.updatedAt AS eventUpdatedAt " +
+            "FROM Ticket t JOIN t.ticketType tt JOIN tt.event e WHERE t.id = :id AND t.purchaser.id = :purchaserId")
+    Optional<TicketVersionView> findVersionByIdAndPurchaserId(@Param("id") UUID id, @Param("purchaserId") UUID purchaserId);
+
+    @Query("SELECT t.ticketType.id AS ticketTypeId, t.ticketType.event.id AS eventId FROM Ticket t WHERE t.id = :id")
+    Optional<TicketCheckInTarget> findCheckInTargetById(@Param("id") UUID id);
+
+    // Ordered so that concurrent callers lock overlapping tickets in the same sequence
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids ORDER BY t.id")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Ticket> findAllByIdInWithLock(@Param("ids") Collection<UUID> ids);
+
+    // Only the first caller for a ticket gets 1 back; concurrent scans queue on the row lock and then see it set
+    @Modifying
+    @Query("UPDATE Ticket t SET t.firstValidatedAt = :validatedAt WHERE t.id = :id AND t.firstValidatedAt IS NULL")
+    int markFirstValidated(@Param("id") UUID id, @Param("validatedAt") LocalDateTime validatedAt);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.firstValidatedAt = :validatedAt WHERE t.id IN :ids AND t.firstValidatedAt IS NULL")
+    int markFirstValidated(@Param("ids") Collection<UUID> ids, @Param("validatedAt") LocalDateTime validatedAt);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.firstValidatedAt = :validatedAt WHERE t.id = :id")
+    int updateFirstValidatedAt(@Param("id") UUID id, @Param("validatedAt") LocalDateTime validatedAt);
+
+    @Modifying
+    @Query(value = "UPDATE tickets t SET first_validated_at = (" +
+            "SELECT MIN(COALESCE(v.scanned_at, v.created_at)) FROM ticket_validations v " +
+            "WHERE v.ticket_id = t.id AND v.status = 'VALID') " +
+            "WHERE t.first_validated_at IS NULL AND EXISTS (" +
+            "SELECT 1 FROM ticket_validations v WHERE v.ticket_id = t.id AND v.status = 'VALID')",
+            nativeQuery = true)
+    int backfillFirstValidatedAt();
 }
@@ -1,14 +1,16 @@
 package com.himanshu.tickets.repositories;
 
-import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import com.himanshu.tickets.domain.entities.TicketType;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,4 +20,31 @@ public interface TicketTypeRepository extends JpaRepository<TicketType, UUID> {
     @Query("SELECT tt FROM TicketType tt WHERE tt.id = :id")
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Optional<TicketType> findByIdWithLock(@Param("id") UUID id);
+
+    @Query("SELECT tt.id FROM TicketType tt")
+    List<UUID> findAllIds();
+
+    @Query("SELECT tt.id FROM TicketType tt WHERE tt.inventoryMode = :inventoryMode")
+    List<UUID> findIdsByInventoryMode(@Param("inventoryMode") TicketInventoryModeEnum inventoryMode);
+
+    @Query("SELECT tt.sold FROM TicketType tt WHERE tt.id = :id")
+    Integer findSoldById(@Param("id") UUID id);
+
+    // Reserves tickets with a single conditional UPDATE; returns 0 when not enough remain
+    @Modifying
+    @Query(value = "UPDATE ticket_types SET sold = sold + :quantity " +
+            "WHERE id = :id AND (total_available IS NULL OR sold + :quantity <= total_available)",
+            nativeQuery = true)
+    int incrementSold(@Param("id") UUID id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE ticket_types SET sold = :sold WHERE id = :id", nativeQuery = true)
+    int updateSold(@Param("id") UUID id, @Param("sold") int sold);
+
+    // Recounts every counter that disagrees with the tickets table, e.g. rows that predate the column and read 0
+    @Modifying
+    @Query(value = "UPDATE ticket_types tt SET sold = (SELECT COUNT(*) FROM tickets t WHERE t.ticket_type_id = tt.id) " +
+            "WHERE tt.sold <> (SELECT COUNT(*) FROM tickets t WHERE t.ticket_type_id = tt.id)",
+            nativeQuery = true)
+    int backfillSold();
 }
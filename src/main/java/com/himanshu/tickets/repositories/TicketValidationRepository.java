@@ -1,11 +1,25 @@
 package com.himanshu.tickets.repositories;
 
+import com.himanshu.tickets.domain.CheckInCount;
 import com.himanshu.tickets.domain.entities.TicketValidation;
+import com.himanshu.tickets.domain.entities.TicketValidationStatusEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface TicketValidationRepository extends JpaRepository<TicketValidation, UUID> {
+
+    List<TicketValidation> findByTicketIdIn(Collection<UUID> ticketIds);
+
+    @Query("SELECT tt.id AS ticketTypeId, v.gate AS gate, COUNT(v) AS admitted " +
+            "FROM TicketValidation v JOIN v.ticket t JOIN t.ticketType tt " +
+            "WHERE tt.event.id = :eventId AND v.status = :status GROUP BY tt.id, v.gate")
+    List<CheckInCount> countByEventIdAndStatus(@Param("eventId") UUID eventId,
+                                               @Param("status") TicketValidationStatusEnum status);
 }
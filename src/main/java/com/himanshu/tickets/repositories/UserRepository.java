@@ -1,12 +1,20 @@
 package com.himanshu.tickets.repositories;
 
 import com.himanshu.tickets.domain.entities.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<User> findByIdWithLock(@Param("id") UUID id);
 }
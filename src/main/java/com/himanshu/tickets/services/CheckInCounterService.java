@@ -0,0 +1,19 @@
+package com.himanshu.tickets.services;
+
+import com.himanshu.tickets.domain.CheckInSnapshot;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.UUID;
+
+public interface CheckInCounterService {
+
+    void recordAdmission(UUID eventId, UUID ticketTypeId, String gate);
+
+    void reassignAdmission(UUID eventId, String fromGate, String toGate);
+
+    CheckInSnapshot getSnapshot(UUID eventId);
+
+    SseEmitter subscribe(UUID eventId);
+
+    void publishUpdates();
+}
@@ -1,6 +1,7 @@
 package com.himanshu.tickets.services;
 
 import com.himanshu.tickets.domain.CreateEventRequest;
+import com.himanshu.tickets.domain.CursorPage;
 import com.himanshu.tickets.domain.UpdateEventRequest;
 import com.himanshu.tickets.domain.entities.Event;
 import org.springframework.data.domain.Page;
@@ -15,6 +16,8 @@ public interface EventService {
 
     Page<Event> listEventForOrganizer(UUID organizerId, Pageable pageable);
 
+    CursorPage<Event> scrollEventsForOrganizer(UUID organizerId, String cursor, int size);
+
     Optional<Event> getEventForOrganizer(UUID organizerId, UUID id );
 
     Event updateEventForOrganizer(UUID organizerId, UUID id, UpdateEventRequest event);
@@ -24,6 +27,8 @@ public interface EventService {
 
     Page<Event> listPublishedEvents(Pageable pageable);
 
+    CursorPage<Event> scrollPublishedEvents(String cursor, int size);
+
     Page<Event> searchPublishedEvents(String query, Pageable pageable);
 
     Optional<Event> getPublishedEvent(UUID id);
@@ -0,0 +1,18 @@
+package com.himanshu.tickets.services;
+
+import com.himanshu.tickets.domain.EventSuggestion;
+import com.himanshu.tickets.domain.entities.Event;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface EventSuggestionService {
+
+    List<EventSuggestion> suggest(String query, int limit);
+
+    void eventSaved(Event event);
+
+    void eventDeleted(UUID eventId);
+
+    void rebuild();
+}
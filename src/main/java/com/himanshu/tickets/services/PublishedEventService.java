@@ -0,0 +1,21 @@
+package com.himanshu.tickets.services;
+
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.dtos.GetEventDetailsResponseDto;
+import com.himanshu.tickets.domain.dtos.ListPublishedEventResponseDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PublishedEventService {
+
+    Page<ListPublishedEventResponseDto> listPublishedEvents(Pageable pageable);
+
+    CursorPage<ListPublishedEventResponseDto> scrollPublishedEvents(String cursor, int size);
+
+    Page<ListPublishedEventResponseDto> searchPublishedEvents(String query, Pageable pageable);
+
+    Optional<GetEventDetailsResponseDto> getPublishedEventDetails(UUID id);
+}
@@ -0,0 +1,10 @@
+package com.himanshu.tickets.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+public interface QrCodeExportService {
+
+    void exportQrCodesForEvent(UUID eventId, OutputStream outputStream) throws IOException;
+}
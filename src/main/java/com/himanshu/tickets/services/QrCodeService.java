@@ -1,15 +1,32 @@
 package com.himanshu.tickets.services;
 
+import com.himanshu.tickets.domain.QrCodeVersionView;
 import com.himanshu.tickets.domain.entities.QrCode;
 import com.himanshu.tickets.domain.entities.Ticket;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface QrCodeService {
 
     QrCode generateQrCode(Ticket ticket);
 
+    List<QrCode> generateQrCodes(List<Ticket> tickets);
+
+    /**
+     * Issues QR codes for a block of tickets with their images ready by the time it returns,
+     * for comps and other bulk issuance that hand the codes out straight away.
+     */
+    List<QrCode> issueQrCodes(List<Ticket> tickets);
+
     byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId);
 
+    QrCodeVersionView getQrCodeVersionForUserAndTicket(UUID userId, UUID ticketId);
+
+    /**
+     * Changes whenever the signing key, payload format or render settings change, so images
+     * rendered on demand come out different for the same QR code.
+     */
+    String getQrCodeRenderVersion();
 
 }
@@ -1,5 +1,7 @@
 package com.himanshu.tickets.services;
 
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.TicketVersionView;
 import com.himanshu.tickets.domain.entities.Ticket;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -11,5 +13,9 @@ public interface TicketService {
 
     Page<Ticket> listTicketsForUser(UUID userId, Pageable pageable);
 
+    CursorPage<Ticket> scrollTicketsForUser(UUID userId, String cursor, int size);
+
     Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId);
+
+    Optional<TicketVersionView> getTicketVersionForUser(UUID userId, UUID ticketId);
 }
@@ -1,11 +1,19 @@
 package com.himanshu.tickets.services;
 
+import com.himanshu.tickets.domain.PurchaseTicketsRequest;
 import com.himanshu.tickets.domain.entities.Ticket;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface TicketTypeService {
 
     Ticket purchaseTicket(UUID userId, UUID ticketTypeId);
 
+    List<Ticket> purchaseTickets(UUID userId, PurchaseTicketsRequest request);
+
+    boolean reconcileInventory(UUID ticketTypeId);
+
+    void rebalanceInventoryBuckets(UUID ticketTypeId);
+
 }
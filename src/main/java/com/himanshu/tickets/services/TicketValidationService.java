@@ -1,12 +1,24 @@
 package com.himanshu.tickets.services;
 
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.TicketManifest;
+import com.himanshu.tickets.domain.TicketValidationRequest;
 import com.himanshu.tickets.domain.entities.TicketValidation;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface TicketValidationService {
 
-    TicketValidation validateTicketByQrCode(UUID qrCodeId);
+    TicketValidation validateTicketByQrCode(UUID qrCodeId, String gate);
 
-    TicketValidation validateTicketManually(UUID ticketId);
+    TicketValidation validateTicketByQrPayload(String payload, UUID eventId, String gate);
+
+    TicketValidation validateTicketManually(UUID ticketId, String gate);
+
+    List<TicketValidation> validateTickets(List<TicketValidationRequest> requests);
+
+    TicketManifest getTicketManifest(UUID eventId, Long sinceVersion);
+
+    List<TicketValidation> syncOfflineValidations(OfflineTicketValidationBatch batch);
 }
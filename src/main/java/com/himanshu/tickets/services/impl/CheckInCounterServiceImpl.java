@@ -0,0 +1,168 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.CheckInCount;
+import com.himanshu.tickets.domain.CheckInSnapshot;
+import com.himanshu.tickets.domain.entities.TicketValidationStatusEnum;
+import com.himanshu.tickets.exceptions.EventNotFoundException;
+import com.himanshu.tickets.mappers.TicketValidationMapper;
+import com.himanshu.tickets.repositories.EventRepository;
+import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.CheckInCounterService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps live admission counts per event in memory. Counts are read from the database once,
+ * when an event is first seen by this instance; after that they are maintained from the
+ * validation services and dashboards never query {@code ticket_validations}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CheckInCounterServiceImpl implements CheckInCounterService {
+
+    private static final String SNAPSHOT_EVENT = "check-ins";
+
+    private final TicketValidationRepository ticketValidationRepository;
+    private final EventRepository eventRepository;
+    private final TicketValidationMapper ticketValidationMapper;
+
+    private final Map<UUID, EventCheckInCounters> counters = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @Value("${tickets.check-ins.stream.timeout}")
+    private Duration streamTimeout;
+
+    @Value("${tickets.check-ins.stream.interval}")
+    private Duration streamInterval;
+
+    @Override
+    public void recordAdmission(UUID eventId, UUID ticketTypeId, String gate) {
+        afterCommit(() -> {
+            EventCheckInCounters eventCounters = seededCounters(eventId);
+            if (eventCounters != null) {
+                eventCounters.add(ticketTypeId, gate, 1);
+            }
+        });
+    }
+
+    @Override
+    public void reassignAdmission(UUID eventId, String fromGate, String toGate) {
+        if (Objects.equals(fromGate, toGate)) {
+            return;
+        }
+        afterCommit(() -> {
+            EventCheckInCounters eventCounters = seededCounters(eventId);
+            if (eventCounters != null) {
+                eventCounters.moveGate(fromGate, toGate);
+            }
+        });
+    }
+
+    // Counters only move once the admission is durable, so a rolled back scan is never shown
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // Null when this call seeded the event: the committed admission is already part of the seed
+    private EventCheckInCounters seededCounters(UUID eventId) {
+        boolean[] seeded = {false};
+        EventCheckInCounters eventCounters = counters.computeIfAbsent(eventId, id -> {
+            seeded[0] = true;
+            return load(id);
+        });
+        return seeded[0] ? null : eventCounters;
+    }
+
+    private EventCheckInCounters load(UUID eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(String.format("Event with ID '%s' not found", eventId));
+        }
+        EventCheckInCounters eventCounters = new EventCheckInCounters();
+        for (CheckInCount count : ticketValidationRepository.countByEventIdAndStatus(
+                eventId, TicketValidationStatusEnum.VALID)) {
+            eventCounters.add(count.getTicketTypeId(), count.getGate(), count.getAdmitted());
+        }
+        return eventCounters;
+    }
+
+    @Override
+    public CheckInSnapshot getSnapshot(UUID eventId) {
+        return counters.computeIfAbsent(eventId, this::load).snapshot(eventId);
+    }
+
+    @Override
+    public SseEmitter subscribe(UUID eventId) {
+        CheckInSnapshot snapshot = getSnapshot(eventId);
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        subscribers.compute(eventId, (id, emitters) -> {
+            Set<SseEmitter> updated = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            updated.add(emitter);
+            return updated;
+        });
+
+        Runnable unsubscribe = () -> subscribers.computeIfPresent(eventId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(ex -> unsubscribe.run());
+
+        // Every connection starts from a full snapshot, which is all a reconnecting client needs to resume
+        send(emitter, snapshot);
+        return emitter;
+    }
+
+    @Override
+    public void publishUpdates() {
+        subscribers.forEach((eventId, emitters) -> {
+            EventCheckInCounters eventCounters = counters.get(eventId);
+            // Any number of admissions since the last run go out as one snapshot
+            if (eventCounters == null || !eventCounters.takeUnpublished()) {
+                return;
+            }
+            CheckInSnapshot snapshot = eventCounters.snapshot(eventId);
+            for (SseEmitter emitter : emitters) {
+                send(emitter, snapshot);
+            }
+        });
+    }
+
+    private void send(SseEmitter emitter, CheckInSnapshot snapshot) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(snapshot.getVersion()))
+                    .name(SNAPSHOT_EVENT)
+                    .reconnectTime(streamInterval.toMillis())
+                    .data(ticketValidationMapper.toCheckInSnapshotResponseDto(snapshot), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException ex) {
+            // The client went away; onError/onCompletion remove the emitter
+            log.debug("Dropping check-in stream for event {}", snapshot.getEventId(), ex);
+            emitter.completeWithError(ex);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.CheckInEntry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Check-in state of one event: every ticket gets a dense slot, and one bit per slot
+ * records whether it has been admitted. Immutable apart from the bitmap.
+ */
+final class CheckInIndex {
+
+    private final UUID eventId;
+    private final Map<UUID, Integer> slotsByQrCode;
+    private final Map<UUID, Integer> slotsByTicket;
+    private final UUID[] ticketIds;
+    private final UUID[] ticketTypeIds;
+    private final AtomicLongArray entered;
+
+    CheckInIndex(UUID eventId, List<CheckInEntry> entries) {
+        this.eventId = eventId;
+        slotsByQrCode = HashMap.newHashMap(entries.size());
+        slotsByTicket = HashMap.newHashMap(entries.size());
+        for (CheckInEntry entry : entries) {
+            int slot = slotsByTicket.computeIfAbsent(entry.getTicketId(), id -> slotsByTicket.size());
+            slotsByQrCode.put(entry.getQrCodeId(), slot);
+        }
+
+        ticketIds = new UUID[slotsByTicket.size()];
+        ticketTypeIds = new UUID[ticketIds.length];
+        for (CheckInEntry entry : entries) {
+            int slot = slotsByTicket.get(entry.getTicketId());
+            ticketIds[slot] = entry.getTicketId();
+            ticketTypeIds[slot] = entry.getTicketTypeId();
+        }
+        entered = new AtomicLongArray((ticketIds.length + 63) >>> 6);
+        for (CheckInEntry entry : entries) {
+            if (entry.getFirstValidatedAt() != null) {
+                enter(slotsByTicket.get(entry.getTicketId()));
+            }
+        }
+    }
+
+    int slotOfQrCode(UUID qrCodeId) {
+        return slotsByQrCode.getOrDefault(qrCodeId, -1);
+    }
+
+    int slotOfTicket(UUID ticketId) {
+        return slotsByTicket.getOrDefault(ticketId, -1);
+    }
+
+    UUID eventId() {
+        return eventId;
+    }
+
+    UUID ticketId(int slot) {
+        return ticketIds[slot];
+    }
+
+    UUID ticketTypeId(int slot) {
+        return ticketTypeIds[slot];
+    }
+
+    int size() {
+        return ticketIds.length;
+    }
+
+    // True only for the caller whose flip set the bit
+    boolean enter(int slot) {
+        int word = slot >>> 6;
+        long mask = 1L << (slot & 63);
+        long current;
+        do {
+            current = entered.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!entered.compareAndSet(word, current, current | mask));
+        return true;
+    }
+}
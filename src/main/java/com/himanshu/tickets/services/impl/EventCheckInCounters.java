@@ -0,0 +1,59 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.CheckInSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission counts of one event. Every gate thread adds to its own {@link LongAdder} cell,
+ * so recording a scan never contends with other gates or with readers.
+ */
+final class EventCheckInCounters {
+
+    private final LongAdder admitted = new LongAdder();
+    private final Map<UUID, LongAdder> admittedByTicketType = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> admittedByGate = new ConcurrentHashMap<>();
+    // Only ever incremented, so its sum can be compared against the last published one
+    private final LongAdder version = new LongAdder();
+    private final AtomicLong publishedVersion = new AtomicLong();
+
+    void add(UUID ticketTypeId, String gate, long count) {
+        admitted.add(count);
+        admittedByTicketType.computeIfAbsent(ticketTypeId, id -> new LongAdder()).add(count);
+        if (gate != null) {
+            admittedByGate.computeIfAbsent(gate, g -> new LongAdder()).add(count);
+        }
+        version.increment();
+    }
+
+    void moveGate(String fromGate, String toGate) {
+        if (fromGate != null) {
+            admittedByGate.computeIfAbsent(fromGate, g -> new LongAdder()).decrement();
+        }
+        if (toGate != null) {
+            admittedByGate.computeIfAbsent(toGate, g -> new LongAdder()).increment();
+        }
+        version.increment();
+    }
+
+    // True once per change, for whichever caller sees it first
+    boolean takeUnpublished() {
+        long current = version.sum();
+        return publishedVersion.getAndSet(current) != current;
+    }
+
+    CheckInSnapshot snapshot(UUID eventId) {
+        // Read first, so a snapshot is never labelled newer than the counts it holds
+        long snapshotVersion = version.sum();
+        Map<UUID, Long> byTicketType = new HashMap<>();
+        admittedByTicketType.forEach((ticketTypeId, count) -> byTicketType.put(ticketTypeId, count.sum()));
+        Map<String, Long> byGate = new HashMap<>();
+        admittedByGate.forEach((gate, count) -> byGate.put(gate, count.sum()));
+        return new CheckInSnapshot(eventId, snapshotVersion, admitted.sum(), byTicketType, byGate);
+    }
+}
@@ -1,10 +1,15 @@
 package com.himanshu.tickets.services.impl;
 
+import com.himanshu.tickets.config.CacheConfig;
 import com.himanshu.tickets.domain.CreateEventRequest;
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.EventSearchModeEnum;
+import com.himanshu.tickets.domain.KeysetCursor;
 import com.himanshu.tickets.domain.UpdateEventRequest;
 import com.himanshu.tickets.domain.UpdateTicketTypeRequest;
 import com.himanshu.tickets.domain.entities.Event;
 import com.himanshu.tickets.domain.entities.EventStatusEnum;
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import com.himanshu.tickets.domain.entities.TicketType;
 import com.himanshu.tickets.domain.entities.User;
 import com.himanshu.tickets.exceptions.EventUpdateException;
@@ -12,8 +17,15 @@ import com.himanshu.tickets.exceptions.TicketTypeNotFoundException;
 import com.himanshu.tickets.repositories.EventRepository;
 import com.himanshu.tickets.repositories.UserRepository;
 import com.himanshu.tickets.services.EventService;
+import com.himanshu.tickets.services.EventSuggestionService;
+import com.himanshu.tickets.services.TicketTypeService;
+import com.himanshu.tickets.util.CursorUtil;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -31,8 +43,16 @@ public class EventServiceImpl implements EventService {
 
     private final EventRepository eventRepository;
 
+    private final TicketTypeService ticketTypeService;
+
+    private final EventSuggestionService eventSuggestionService;
+
+    @Value("${tickets.search.mode}")
+    private EventSearchModeEnum searchMode;
+
     @Override
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, allEntries = true)
     public Event createEvent(UUID organizerId, CreateEventRequest event) {
 
         User organizer = userRepository.findById(organizerId)
@@ -49,6 +69,7 @@ public class EventServiceImpl implements EventService {
                     ticketTypeToCreate.setPrice(ticketType.getPrice());
                     ticketTypeToCreate.setDescription(ticketType.getDescription());
                     ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+                    applyInventoryMode(ticketTypeToCreate, ticketType.getInventoryMode(), ticketType.getInventoryBucketCount());
                     ticketTypeToCreate.setEvent(eventToCreate);
                     return ticketTypeToCreate;
                 }).toList();
@@ -64,7 +85,12 @@ public class EventServiceImpl implements EventService {
 
         eventToCreate.setTicketTypes(ticketTypesToCreate);
 
-       return eventRepository.save(eventToCreate);
+        Event createdEvent = eventRepository.saveAndFlush(eventToCreate);
+        eventSuggestionService.eventSaved(createdEvent);
+        createdEvent.getTicketTypes().stream()
+                .filter(ticketType -> ticketType.isSharded() || ticketType.isInMemory())
+                .forEach(ticketType -> ticketTypeService.reconcileInventory(ticketType.getId()));
+        return createdEvent;
     }
 
     @Override
@@ -72,6 +98,17 @@ public class EventServiceImpl implements EventService {
        return eventRepository.findByOrganizerId(organizerId,pageable);
     }
 
+    @Override
+    public CursorPage<Event> scrollEventsForOrganizer(UUID organizerId, String cursor, int size) {
+        KeysetCursor position = CursorUtil.decode(cursor);
+        int pageSize = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Event> events = position == null
+                ? eventRepository.scrollByOrganizerId(organizerId, limit)
+                : eventRepository.scrollByOrganizerIdAfter(organizerId, position.getCreatedAt(), position.getId(), limit);
+        return CursorPage.of(events, pageSize, Event::getCreatedAt, Event::getId);
+    }
+
     @Override
     public Optional<Event> getEventForOrganizer(UUID organizerId, UUID id) {
         return eventRepository.findByIdAndOrganizerId(id, organizerId);
@@ -79,6 +116,10 @@ public class EventServiceImpl implements EventService {
 
     @Transactional
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, allEntries = true)
+    })
     public Event updateEventForOrganizer(UUID organizerId, UUID id, UpdateEventRequest event) {
         if (event.getId() == null) {
             throw new EventUpdateException("Event ID cannot be null");
@@ -111,6 +152,8 @@ public class EventServiceImpl implements EventService {
                 !requestTicketTypeIds.contains(existingEventType.getId())
         );
 
+        List<TicketType> inventoryChanged = new ArrayList<>();
+
         Map<UUID, TicketType> existingTicketTypesIndex = existingEvent.getTicketTypes().stream()
                 .collect(Collectors.toMap(TicketType::getId, Function.identity()));
 
@@ -123,8 +166,10 @@ public class EventServiceImpl implements EventService {
                 ticketTypeToCreate.setPrice(ticketType.getPrice());
                 ticketTypeToCreate.setDescription(ticketType.getDescription());
                 ticketTypeToCreate.setTotalAvailable(ticketType.getTotalAvailable());
+                applyInventoryMode(ticketTypeToCreate, ticketType.getInventoryMode(), ticketType.getInventoryBucketCount());
                 ticketTypeToCreate.setEvent(existingEvent);
                 existingEvent.getTicketTypes().add(ticketTypeToCreate);
+                inventoryChanged.add(ticketTypeToCreate);
 
 
             } else if (existingTicketTypesIndex.containsKey(ticketType.getId())) {
@@ -135,7 +180,17 @@ public class EventServiceImpl implements EventService {
                 existingTicketType.setName(ticketType.getName());
                 existingTicketType.setPrice(ticketType.getPrice());
                 existingTicketType.setDescription(ticketType.getDescription());
+
+                boolean totalAvailableChanged = !Objects.equals(
+                        existingTicketType.getTotalAvailable(), ticketType.getTotalAvailable());
                 existingTicketType.setTotalAvailable(ticketType.getTotalAvailable());
+                boolean modeChanged = applyInventoryMode(
+                        existingTicketType, ticketType.getInventoryMode(), ticketType.getInventoryBucketCount());
+
+                if (modeChanged || (totalAvailableChanged
+                        && (existingTicketType.isSharded() || existingTicketType.isInMemory()))) {
+                    inventoryChanged.add(existingTicketType);
+                }
 
 
 
@@ -144,13 +199,46 @@ public class EventServiceImpl implements EventService {
             }
         }
 
-        return eventRepository.save(existingEvent);
+        Event updatedEvent = eventRepository.saveAndFlush(existingEvent);
+        eventSuggestionService.eventSaved(updatedEvent);
+        inventoryChanged.forEach(ticketType -> ticketTypeService.reconcileInventory(ticketType.getId()));
+        return updatedEvent;
+    }
+
+    // Sharded and in-memory modes only apply to capped ticket types; returns true when the mode or bucket count changed
+    private boolean applyInventoryMode(TicketType ticketType,
+                                       TicketInventoryModeEnum requestedMode,
+                                       Integer inventoryBucketCount) {
+        boolean capped = ticketType.getTotalAvailable() != null;
+        boolean sharded = capped
+                && (requestedMode == null || requestedMode == TicketInventoryModeEnum.SHARDED)
+                && inventoryBucketCount != null
+                && inventoryBucketCount > 1;
+        boolean inMemory = capped && requestedMode == TicketInventoryModeEnum.IN_MEMORY;
+
+        TicketInventoryModeEnum inventoryMode = sharded ? TicketInventoryModeEnum.SHARDED
+                : inMemory ? TicketInventoryModeEnum.IN_MEMORY
+                : TicketInventoryModeEnum.COUNTER;
+        Integer bucketCount = sharded ? inventoryBucketCount : null;
+
+        boolean changed = inventoryMode != ticketType.getInventoryMode()
+                || !Objects.equals(bucketCount, ticketType.getInventoryBucketCount());
+        ticketType.setInventoryMode(inventoryMode);
+        ticketType.setInventoryBucketCount(bucketCount);
+        return changed;
     }
 
     @Transactional
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_DETAILS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, allEntries = true)
+    })
     public void deleteEventForOrganizer(UUID organizerId, UUID id) {
-      getEventForOrganizer(organizerId, id).ifPresent(eventRepository::delete);
+      getEventForOrganizer(organizerId, id).ifPresent(event -> {
+          eventRepository.delete(event);
+          eventSuggestionService.eventDeleted(id);
+      });
     }
 
     @Override
@@ -158,8 +246,26 @@ public class EventServiceImpl implements EventService {
         return eventRepository.findByStatus(EventStatusEnum.PUBLISHED, pageable);
     }
 
+    @Override
+    public CursorPage<Event> scrollPublishedEvents(String cursor, int size) {
+        KeysetCursor position = CursorUtil.decode(cursor);
+        int pageSize = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Event> events = position == null
+                ? eventRepository.scrollByStatus(EventStatusEnum.PUBLISHED, limit)
+                : eventRepository.scrollByStatusAfter(EventStatusEnum.PUBLISHED, position.getCreatedAt(), position.getId(), limit);
+        return CursorPage.of(events, pageSize, Event::getCreatedAt, Event::getId);
+    }
+
     @Override
     public Page<Event> searchPublishedEvents(String query, Pageable pageable) {
+        if (searchMode == EventSearchModeEnum.LIKE) {
+            String escaped = query.trim().toLowerCase()
+                    .replace("\\", "\\\\")
+                    .replace("%", "\\%")
+                    .replace("_", "\\_");
+            return eventRepository.searchEventsByPattern(EventStatusEnum.PUBLISHED, "%" + escaped + "%", pageable);
+        }
         return eventRepository.searchEvents(query, pageable);
     }
 
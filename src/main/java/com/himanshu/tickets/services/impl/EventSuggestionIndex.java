@@ -0,0 +1,173 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.EventSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Prefix index over the words of published event names and venues. Each word maps to the events containing it,
+ * kept in sorted maps so a prefix is a range lookup. Reads run concurrently with a single writer.
+ */
+class EventSuggestionIndex {
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    // Events looked at per query before giving up on filling the limit
+    private static final int MAX_CANDIDATES = 1000;
+
+    // Rough heap cost of an indexed event and of one word posting, for the footprint gauge
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+    private static final long POSTING_OVERHEAD_BYTES = 120;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<UUID>> nameWords = new ConcurrentSkipListMap<>();
+    private final NavigableMap<String, Set<UUID>> venueWords = new ConcurrentSkipListMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    /**
+     * Adds or replaces an event, unless the indexed copy is newer.
+     */
+    void put(EventSuggestion suggestion) {
+        Entry existing = entries.get(suggestion.getId());
+        if (existing != null) {
+            if (isOlder(suggestion, existing.suggestion())) {
+                return;
+            }
+            remove(suggestion.getId());
+        }
+
+        String[] names = words(suggestion.getName());
+        String[] venues = words(suggestion.getVenue());
+        Entry entry = new Entry(suggestion, names, venues);
+        entries.put(suggestion.getId(), entry);
+        Arrays.stream(names).forEach(word -> nameWords.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(suggestion.getId()));
+        Arrays.stream(venues).forEach(word -> venueWords.computeIfAbsent(word, w -> ConcurrentHashMap.newKeySet()).add(suggestion.getId()));
+        estimatedBytes.addAndGet(entry.estimatedBytes());
+    }
+
+    void remove(UUID eventId) {
+        Entry entry = entries.remove(eventId);
+        if (entry == null) {
+            return;
+        }
+        Arrays.stream(entry.names()).forEach(word -> unlink(nameWords, word, eventId));
+        Arrays.stream(entry.venues()).forEach(word -> unlink(venueWords, word, eventId));
+        estimatedBytes.addAndGet(-entry.estimatedBytes());
+    }
+
+    private static void unlink(NavigableMap<String, Set<UUID>> words, String word, UUID eventId) {
+        words.computeIfPresent(word, (w, ids) -> {
+            ids.remove(eventId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /**
+     * Events where every word of the query starts a word of the name or venue, name matches first.
+     */
+    List<EventSuggestion> search(String query, int limit) {
+        String[] queryWords = words(query);
+        if (queryWords.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        // The longest word narrows the range scan the most
+        String driver = Arrays.stream(queryWords).reduce((a, b) -> b.length() > a.length() ? b : a).orElseThrow();
+
+        Map<UUID, EventSuggestion> results = new LinkedHashMap<>();
+        int[] candidates = {0};
+        collect(nameWords, driver, queryWords, limit, results, candidates);
+        collect(venueWords, driver, queryWords, limit, results, candidates);
+        return new ArrayList<>(results.values());
+    }
+
+    private void collect(NavigableMap<String, Set<UUID>> words, String prefix, String[] queryWords, int limit,
+                         Map<UUID, EventSuggestion> results, int[] candidates) {
+        for (Set<UUID> ids : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (UUID id : ids) {
+                if (results.size() >= limit || candidates[0]++ >= MAX_CANDIDATES) {
+                    return;
+                }
+                Entry entry = entries.get(id);
+                if (entry != null && !results.containsKey(id) && entry.matchesAll(queryWords)) {
+                    results.put(id, entry.suggestion());
+                }
+            }
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes.get();
+    }
+
+    private static boolean isOlder(EventSuggestion candidate, EventSuggestion indexed) {
+        return candidate.getUpdatedAt() != null && indexed.getUpdatedAt() != null
+                && candidate.getUpdatedAt().isBefore(indexed.getUpdatedAt());
+    }
+
+    // Lower-cased with accents stripped, so "Café" is found by "cafe"
+    static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded)
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    private record Entry(EventSuggestion suggestion, String[] names, String[] venues) {
+
+        boolean matchesAll(String[] queryWords) {
+            for (String queryWord : queryWords) {
+                if (!startsAny(names, queryWord) && !startsAny(venues, queryWord)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean startsAny(String[] words, String prefix) {
+            for (String word : words) {
+                if (word.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long estimatedBytes() {
+            long bytes = ENTRY_OVERHEAD_BYTES + length(suggestion.getName()) + length(suggestion.getVenue());
+            for (String word : names) {
+                bytes += POSTING_OVERHEAD_BYTES + word.length();
+            }
+            for (String word : venues) {
+                bytes += POSTING_OVERHEAD_BYTES + word.length();
+            }
+            return bytes;
+        }
+
+        private static int length(String text) {
+            return text == null ? 0 : text.length();
+        }
+    }
+}
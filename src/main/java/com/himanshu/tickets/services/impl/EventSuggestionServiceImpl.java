@@ -0,0 +1,124 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.EventSuggestion;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.EventStatusEnum;
+import com.himanshu.tickets.mappers.EventMappers;
+import com.himanshu.tickets.repositories.EventRepository;
+import com.himanshu.tickets.services.EventSuggestionService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Answers typeahead queries from an in-memory {@link EventSuggestionIndex} of published events. Writes made
+ * through this instance are applied once they commit; the periodic rebuild picks up everything else. Changes
+ * applied while a rebuild is loading are replayed onto the new index before it replaces the old one.
+ */
+@Service
+@Slf4j
+public class EventSuggestionServiceImpl implements EventSuggestionService {
+
+    private final EventRepository eventRepository;
+    private final EventMappers eventMappers;
+    private final Timer rebuildTimer;
+    private final int maxResults;
+
+    private volatile EventSuggestionIndex index = new EventSuggestionIndex();
+    // Changes seen while a rebuild is in progress, guarded by this
+    private List<Consumer<EventSuggestionIndex>> pendingChanges;
+
+    public EventSuggestionServiceImpl(EventRepository eventRepository,
+                                      EventMappers eventMappers,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${tickets.search.suggest.max-results}") int maxResults) {
+        this.eventRepository = eventRepository;
+        this.eventMappers = eventMappers;
+        this.maxResults = maxResults;
+        this.rebuildTimer = Timer.builder("tickets.search.suggest.rebuild")
+                .description("Time to reload the typeahead index from the database")
+                .register(meterRegistry);
+        Gauge.builder("tickets.search.suggest.events", this, service -> service.index.size())
+                .description("Published events in the typeahead index")
+                .register(meterRegistry);
+        Gauge.builder("tickets.search.suggest.memory", this, service -> service.index.estimatedBytes())
+                .description("Estimated heap used by the typeahead index")
+                .baseUnit(BaseUnits.BYTES)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<EventSuggestion> suggest(String query, int limit) {
+        return index.search(query, Math.min(limit, maxResults));
+    }
+
+    @Override
+    public void eventSaved(Event event) {
+        if (event.getStatus() != EventStatusEnum.PUBLISHED) {
+            eventDeleted(event.getId());
+            return;
+        }
+        EventSuggestion suggestion = eventMappers.toEventSuggestion(event);
+        afterCommit(target -> target.put(suggestion));
+    }
+
+    @Override
+    public void eventDeleted(UUID eventId) {
+        afterCommit(target -> target.remove(eventId));
+    }
+
+    private void afterCommit(Consumer<EventSuggestionIndex> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private synchronized void apply(Consumer<EventSuggestionIndex> change) {
+        change.accept(index);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    @Override
+    public void rebuild() {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return;
+            }
+            pendingChanges = new ArrayList<>();
+        }
+        try {
+            EventSuggestionIndex rebuilt = new EventSuggestionIndex();
+            rebuildTimer.record(() -> eventRepository.findSuggestionsByStatus(EventStatusEnum.PUBLISHED)
+                    .forEach(rebuilt::put));
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(rebuilt));
+                index = rebuilt;
+            }
+            log.info("Typeahead index holds {} published event(s)", rebuilt.size());
+        } finally {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.himanshu.tickets.services.impl;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Authoritative remaining stock for IN_MEMORY ticket types; only valid while a single instance sells them
+@Component
+public class InMemoryTicketInventory {
+
+    private final Map<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+    public boolean isLoaded(UUID ticketTypeId) {
+        return counters.containsKey(ticketTypeId);
+    }
+
+    public void load(UUID ticketTypeId, int totalAvailable, int purchased) {
+        counters.compute(ticketTypeId, (id, counter) -> {
+            if (counter == null) {
+                return new Counter(totalAvailable, new AtomicInteger(Math.max(0, totalAvailable - purchased)));
+            }
+            // Already live: apply only the capacity change so in-flight reservations stay accounted for
+            counter.remaining().addAndGet(totalAvailable - counter.totalAvailable());
+            return new Counter(totalAvailable, counter.remaining());
+        });
+    }
+
+    public void evict(UUID ticketTypeId) {
+        counters.remove(ticketTypeId);
+    }
+
+    public boolean tryReserve(UUID ticketTypeId, int quantity) {
+        Counter counter = counters.get(ticketTypeId);
+        if (counter == null) {
+            return false;
+        }
+
+        AtomicInteger remaining = counter.remaining();
+        int current;
+        do {
+            current = remaining.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!remaining.compareAndSet(current, current - quantity));
+        return true;
+    }
+
+    public void release(UUID ticketTypeId, int quantity) {
+        Counter counter = counters.get(ticketTypeId);
+        if (counter != null) {
+            counter.remaining().addAndGet(quantity);
+        }
+    }
+
+    public int getRemaining(UUID ticketTypeId) {
+        Counter counter = counters.get(ticketTypeId);
+        return counter == null ? 0 : counter.remaining().get();
+    }
+
+    private record Counter(int totalAvailable, AtomicInteger remaining) {
+    }
+}
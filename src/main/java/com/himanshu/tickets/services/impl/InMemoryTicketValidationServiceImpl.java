@@ -0,0 +1,323 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.QrCodePayload;
+import com.himanshu.tickets.domain.TicketManifest;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.entities.*;
+import com.himanshu.tickets.repositories.EventRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.CheckInCounterService;
+import com.himanshu.tickets.services.TicketValidationService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Answers gate scans for events around their doors-open time from a {@link CheckInIndex}
+ * per event, and writes the resulting validations behind in batches. Anything not
+ * covered by a loaded index, such as tickets bought after the event was loaded,
+ * falls through to the database engine.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "tickets.validation.engine", havingValue = "in-memory")
+@Slf4j
+public class InMemoryTicketValidationServiceImpl implements TicketValidationService {
+
+    private static final String MARK_FIRST_VALIDATED =
+            "UPDATE tickets SET first_validated_at = ? WHERE id = ? AND first_validated_at IS NULL";
+
+    private final TicketValidationServiceImpl databaseValidationService;
+    private final QrCodeRepository qrCodeRepository;
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final TicketValidationRepository ticketValidationRepository;
+    private final CheckInCounterService checkInCounterService;
+    private final QrCodePayloadCodec qrCodePayloadCodec;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<UUID, CheckInIndex> indexes = new ConcurrentHashMap<>();
+    private final Queue<PendingCheckIn> pending = new ConcurrentLinkedQueue<>();
+
+    @Value("${tickets.validation.in-memory.preload-before}")
+    private Duration preloadBefore;
+
+    @Value("${tickets.validation.in-memory.retain-after}")
+    private Duration retainAfter;
+
+    @Value("${tickets.validation.in-memory.batch-size}")
+    private int batchSize;
+
+    public InMemoryTicketValidationServiceImpl(TicketValidationServiceImpl databaseValidationService,
+                                               QrCodeRepository qrCodeRepository,
+                                               EventRepository eventRepository,
+                                               TicketRepository ticketRepository,
+                                               TicketValidationRepository ticketValidationRepository,
+                                               CheckInCounterService checkInCounterService,
+                                               QrCodePayloadCodec qrCodePayloadCodec,
+                                               JdbcTemplate jdbcTemplate,
+                                               PlatformTransactionManager transactionManager) {
+        this.databaseValidationService = databaseValidationService;
+        this.qrCodeRepository = qrCodeRepository;
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.ticketValidationRepository = ticketValidationRepository;
+        this.checkInCounterService = checkInCounterService;
+        this.qrCodePayloadCodec = qrCodePayloadCodec;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    private record PendingCheckIn(UUID ticketId, TicketValidationMethod method, LocalDateTime scannedAt, String gate,
+                                  boolean admitted) {
+    }
+
+    @Override
+    public TicketValidation validateTicketByQrCode(UUID qrCodeId, String gate) {
+        for (CheckInIndex index : indexes.values()) {
+            int slot = index.slotOfQrCode(qrCodeId);
+            if (slot >= 0) {
+                return checkIn(index, slot, TicketValidationMethod.QR_SCAN, gate);
+            }
+        }
+        return databaseValidationService.validateTicketByQrCode(qrCodeId, gate);
+    }
+
+    @Override
+    public TicketValidation validateTicketByQrPayload(String payload, UUID eventId, String gate) {
+        QrCodePayload qrCodePayload = qrCodePayloadCodec.decode(payload).orElse(null);
+        if (qrCodePayload == null || !qrCodePayload.isFor(eventId)) {
+            return TicketValidationServiceImpl.rejectedValidation(TicketValidationMethod.QR_SCAN);
+        }
+
+        // Signed payloads name their event, so only that index needs to be consulted
+        CheckInIndex index = qrCodePayload.getEventId() == null ? null : indexes.get(qrCodePayload.getEventId());
+        int slot = index == null ? -1 : index.slotOfQrCode(qrCodePayload.getQrCodeId());
+        if (slot >= 0) {
+            return checkIn(index, slot, TicketValidationMethod.QR_SCAN, gate);
+        }
+        return validateTicketByQrCode(qrCodePayload.getQrCodeId(), gate);
+    }
+
+    @Override
+    public TicketValidation validateTicketManually(UUID ticketId, String gate) {
+        for (CheckInIndex index : indexes.values()) {
+            int slot = index.slotOfTicket(ticketId);
+            if (slot >= 0) {
+                return checkIn(index, slot, TicketValidationMethod.MANUAL, gate);
+            }
+        }
+        return databaseValidationService.validateTicketManually(ticketId, gate);
+    }
+
+    @Override
+    public List<TicketValidation> validateTickets(List<TicketValidationRequest> requests) {
+        TicketValidation[] results = new TicketValidation[requests.size()];
+        List<Integer> fallbackPositions = new ArrayList<>();
+        List<TicketValidationRequest> fallbackRequests = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            TicketValidationRequest request = TicketValidationServiceImpl.resolvePayload(qrCodePayloadCodec, requests.get(i));
+            if (request == null) {
+                results[i] = TicketValidationServiceImpl.rejectedValidation(TicketValidationMethod.QR_SCAN);
+                continue;
+            }
+            boolean manual = TicketValidationMethod.MANUAL.equals(request.getMethod());
+            for (CheckInIndex index : indexes.values()) {
+                int slot = manual ? index.slotOfTicket(request.getId()) : index.slotOfQrCode(request.getId());
+                if (slot >= 0) {
+                    results[i] = checkIn(index, slot,
+                            manual ? TicketValidationMethod.MANUAL : TicketValidationMethod.QR_SCAN, request.getGate());
+                    break;
+                }
+            }
+            if (results[i] == null) {
+                fallbackPositions.add(i);
+                fallbackRequests.add(request);
+            }
+        }
+
+        if (!fallbackRequests.isEmpty()) {
+            List<TicketValidation> fallbackResults = databaseValidationService.validateTickets(fallbackRequests);
+            for (int i = 0; i < fallbackPositions.size(); i++) {
+                results[fallbackPositions.get(i)] = fallbackResults.get(i);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public TicketManifest getTicketManifest(UUID eventId, Long sinceVersion) {
+        return databaseValidationService.getTicketManifest(eventId, sinceVersion);
+    }
+
+    @Override
+    public List<TicketValidation> syncOfflineValidations(OfflineTicketValidationBatch batch) {
+        List<TicketValidation> results = databaseValidationService.syncOfflineValidations(batch);
+
+        // Tickets admitted offline must be refused at the online gates too
+        CheckInIndex index = indexes.get(batch.getEventId());
+        if (index != null) {
+            for (TicketValidation result : results) {
+                if (result.getStatus() == TicketValidationStatusEnum.VALID) {
+                    int slot = index.slotOfTicket(result.getTicket().getId());
+                    if (slot >= 0) {
+                        index.enter(slot);
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private TicketValidation checkIn(CheckInIndex index, int slot, TicketValidationMethod method, String gate) {
+        LocalDateTime scannedAt = LocalDateTime.now();
+        boolean admitted = index.enter(slot);
+        UUID ticketId = index.ticketId(slot);
+        pending.add(new PendingCheckIn(ticketId, method, scannedAt, gate, admitted));
+        if (admitted) {
+            checkInCounterService.recordAdmission(index.eventId(), index.ticketTypeId(slot), gate);
+        }
+
+        // Only the id is needed to answer the scanner; the entity is written by flushPendingCheckIns
+        Ticket ticket = new Ticket();
+        ticket.setId(ticketId);
+
+        TicketValidation ticketValidation = new TicketValidation();
+        ticketValidation.setTicket(ticket);
+        ticketValidation.setValidationMethod(method);
+        ticketValidation.setScannedAt(scannedAt);
+        ticketValidation.setGate(gate);
+        ticketValidation.setStatus(admitted ? TicketValidationStatusEnum.VALID : TicketValidationStatusEnum.INVALID);
+        return ticketValidation;
+    }
+
+    public void refreshLoadedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<UUID> openEventIds = new HashSet<>(eventRepository.findIdsByStatusAndWindow(
+                EventStatusEnum.PUBLISHED, now.plus(preloadBefore), now.minus(retainAfter)));
+
+        indexes.keySet().removeIf(eventId -> !openEventIds.contains(eventId));
+        for (UUID eventId : openEventIds) {
+            if (!indexes.containsKey(eventId)) {
+                loadEvent(eventId);
+            }
+        }
+    }
+
+    // Admissions already persisted, including those from before a restart, are restored from first_validated_at
+    public void loadEvent(UUID eventId) {
+        long startedAt = System.nanoTime();
+        // Counters are seeded from the database first; admissions answered from the index are not written yet
+        checkInCounterService.getSnapshot(eventId);
+        CheckInIndex index = new CheckInIndex(eventId,
+                qrCodeRepository.findCheckInEntriesByEventIdAndStatus(eventId, QrCodeStatusEnum.ACTIVE));
+        indexes.put(eventId, index);
+        log.info("Loaded check-in index for event {}: {} ticket(s) in {} ms",
+                eventId, index.size(), Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+    }
+
+    /**
+     * Writes up to one batch of pending check-ins.
+     *
+     * @return how many check-ins left the queue, whether written or dropped as unwritable
+     */
+    public int flushPendingCheckIns() {
+        List<PendingCheckIn> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        PendingCheckIn checkIn;
+        while (batch.size() < batchSize && (checkIn = pending.poll()) != null) {
+            batch.add(checkIn);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            return batch.size();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to persist {} check-in(s) as a batch, retrying them one at a time", batch.size(), ex);
+        }
+
+        // One unwritable row must not hold back the admissions batched with it
+        int handled = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingCheckIn single = batch.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(List.of(single)));
+            } catch (DataIntegrityViolationException ex) {
+                // Will never succeed, e.g. the ticket was deleted; logged in full so it can be replayed by hand
+                log.error("Dropping check-in that cannot be persisted: {}", single, ex);
+            } catch (RuntimeException ex) {
+                // Not specific to this row, so the database is likely unavailable; the rest waits for the next flush
+                log.error("Failed to persist {} check-in(s), retrying on the next flush", batch.size() - i, ex);
+                pending.addAll(batch.subList(i, batch.size()));
+                return handled;
+            }
+            handled++;
+        }
+        return handled;
+    }
+
+    private void persist(List<PendingCheckIn> checkIns) {
+        List<PendingCheckIn> admitted = checkIns.stream().filter(PendingCheckIn::admitted).toList();
+        int[][] updateCounts = admitted.isEmpty() ? new int[0][] : jdbcTemplate.batchUpdate(
+                MARK_FIRST_VALIDATED, admitted, admitted.size(), (ps, c) -> {
+                    ps.setObject(1, c.scannedAt());
+                    ps.setObject(2, c.ticketId());
+                });
+
+        // Admitted meanwhile by offline sync, the database engine or another node: this scan was a second entry
+        Set<UUID> admittedElsewhere = new HashSet<>();
+        int position = 0;
+        for (int[] counts : updateCounts) {
+            for (int count : counts) {
+                if (count == 0) {
+                    admittedElsewhere.add(admitted.get(position).ticketId());
+                }
+                position++;
+            }
+        }
+        if (!admittedElsewhere.isEmpty()) {
+            log.warn("{} ticket(s) admitted from memory had already been admitted elsewhere", admittedElsewhere.size());
+        }
+
+        ticketValidationRepository.saveAll(checkIns.stream()
+                .map(c -> toTicketValidation(c, c.admitted() && !admittedElsewhere.contains(c.ticketId())))
+                .toList());
+    }
+
+    private TicketValidation toTicketValidation(PendingCheckIn checkIn, boolean admitted) {
+        TicketValidation ticketValidation = new TicketValidation();
+        ticketValidation.setTicket(ticketRepository.getReferenceById(checkIn.ticketId()));
+        ticketValidation.setValidationMethod(checkIn.method());
+        ticketValidation.setScannedAt(checkIn.scannedAt());
+        ticketValidation.setGate(checkIn.gate());
+        ticketValidation.setStatus(admitted ? TicketValidationStatusEnum.VALID : TicketValidationStatusEnum.INVALID);
+        return ticketValidation;
+    }
+
+    @PreDestroy
+    public void drain() {
+        while (flushPendingCheckIns() > 0) {
+            // keep flushing until the queue is empty
+        }
+    }
+}
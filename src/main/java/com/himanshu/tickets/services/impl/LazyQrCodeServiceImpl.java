@@ -0,0 +1,105 @@
+package com.himanshu.tickets.services.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.himanshu.tickets.domain.QrCodeImageView;
+import com.himanshu.tickets.domain.QrCodeVersionView;
+import com.himanshu.tickets.domain.entities.QrCode;
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.exceptions.QrcodeNotFoundException;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.services.QrCodeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Persists only the QR code id and renders the PNG the first time it is requested.
+ * Rendered images are kept in a byte-bounded cache instead of the database.
+ */
+@Service
+@ConditionalOnProperty(name = "tickets.qr-code.storage", havingValue = "lazy")
+@Slf4j
+public class LazyQrCodeServiceImpl implements QrCodeService {
+
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final Cache<UUID, byte[]> images;
+
+    public LazyQrCodeServiceImpl(QrCodeRepository qrCodeRepository,
+                                 QrCodeImageRenderer qrCodeImageRenderer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${tickets.qr-code.cache.max-size:64MB}") DataSize maxSize) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<UUID, byte[]>weigher((id, image) -> image.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, images, "qrCodeImages");
+    }
+
+    @Override
+    public QrCode generateQrCode(Ticket ticket) {
+        return generateQrCodes(List.of(ticket)).getFirst();
+    }
+
+    @Override
+    public List<QrCode> generateQrCodes(List<Ticket> tickets) {
+        return qrCodeRepository.saveAll(tickets.stream().map(this::buildQrCode).toList());
+    }
+
+    @Override
+    public List<QrCode> issueQrCodes(List<Ticket> tickets) {
+        // Nothing is rendered ahead in lazy mode; images are produced when first requested
+        return generateQrCodes(tickets);
+    }
+
+    private QrCode buildQrCode(Ticket ticket) {
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+        qrCode.setTicket(ticket);
+        return qrCode;
+    }
+
+    @Override
+    public QrCodeVersionView getQrCodeVersionForUserAndTicket(UUID userId, UUID ticketId) {
+        return qrCodeRepository.findVersionByTicketIdAndPurchaserId(ticketId, userId)
+                .orElseThrow(QrcodeNotFoundException::new);
+    }
+
+    @Override
+    public String getQrCodeRenderVersion() {
+        return qrCodeImageRenderer.getRenderVersion();
+    }
+
+    @Override
+    public byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId) {
+        QrCodeImageView qrCode = qrCodeRepository.findImageByTicketIdAndPurchaserId(ticketId, userId)
+                .orElseThrow((QrcodeNotFoundException::new));
+        // Rows written while running in stored mode keep serving their persisted image
+        if (qrCode.getImage() != null) {
+            return qrCode.getImage();
+        }
+        if (qrCode.getValue() != null) {
+            try {
+                return Base64.getDecoder().decode(qrCode.getValue());
+            } catch (IllegalArgumentException ex) {
+                log.error("Invalid base64 QR Code For ticket ID : {}", ticketId, ex);
+                throw new QrcodeNotFoundException();
+            }
+        }
+        return images.get(qrCode.getId(), id -> qrCodeImageRenderer.render(id, qrCode.getEventId()));
+    }
+}
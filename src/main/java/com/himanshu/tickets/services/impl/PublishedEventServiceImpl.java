@@ -0,0 +1,63 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.config.CacheConfig;
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.dtos.GetEventDetailsResponseDto;
+import com.himanshu.tickets.domain.dtos.ListPublishedEventResponseDto;
+import com.himanshu.tickets.mappers.EventMappers;
+import com.himanshu.tickets.services.EventService;
+import com.himanshu.tickets.services.PublishedEventService;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read side of the public event pages. The mapped responses are cached rather than the entities, which hold
+ * lazy ticket types tied to the session that loaded them. {@code sync} lets a single caller load a missing
+ * entry while concurrent callers for the same key wait for its result. {@link EventServiceImpl} evicts on writes.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublishedEventServiceImpl implements PublishedEventService {
+
+    private final EventService eventService;
+    private final EventMappers eventMappers;
+
+    // Only the first pages see announcement-day traffic; deeper pages go to the database
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PUBLISHED_EVENT_PAGES, sync = true,
+            condition = "#pageable.pageNumber < 5 and #pageable.pageSize <= 100")
+    @Transactional
+    public Page<ListPublishedEventResponseDto> listPublishedEvents(Pageable pageable) {
+        return eventService.listPublishedEvents(pageable)
+                .map(eventMappers::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Transactional
+    public CursorPage<ListPublishedEventResponseDto> scrollPublishedEvents(String cursor, int size) {
+        return eventService.scrollPublishedEvents(cursor, size)
+                .map(eventMappers::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Transactional
+    public Page<ListPublishedEventResponseDto> searchPublishedEvents(String query, Pageable pageable) {
+        return eventService.searchPublishedEvents(query, pageable)
+                .map(eventMappers::toListPublishedEventResponseDto);
+    }
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.PUBLISHED_EVENT_DETAILS, sync = true)
+    @Transactional
+    public Optional<GetEventDetailsResponseDto> getPublishedEventDetails(UUID id) {
+        return eventService.getPublishedEvent(id)
+                .map(eventMappers::toGetEventDetailsResponseDto);
+    }
+}
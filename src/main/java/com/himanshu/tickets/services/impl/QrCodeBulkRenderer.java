@@ -0,0 +1,71 @@
+package com.himanshu.tickets.services.impl;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Renders a block of QR codes while the caller waits, spread over a pool sized to the cores.
+ * The pool has no queue: once every worker is busy the calling thread renders the next image itself,
+ * so concurrent bulk requests share the cores instead of piling up work.
+ */
+@Component
+public class QrCodeBulkRenderer {
+
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final ThreadPoolTaskExecutor executor;
+
+    public QrCodeBulkRenderer(QrCodeImageRenderer qrCodeImageRenderer,
+                              @Value("${tickets.qr-code.issue.threads:0}") int threads) {
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(0);
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.setThreadNamePrefix("qr-issue-");
+        this.executor.initialize();
+    }
+
+    /**
+     * @param eventIdsByQrCodeId event of each QR code, in the order the images are returned
+     * @return rendered PNGs keyed by QR code id, in iteration order of the argument
+     */
+    public Map<UUID, byte[]> render(Map<UUID, UUID> eventIdsByQrCodeId) {
+        List<CompletableFuture<byte[]>> images = new ArrayList<>(eventIdsByQrCodeId.size());
+        eventIdsByQrCodeId.forEach((qrCodeId, eventId) -> images.add(CompletableFuture.supplyAsync(
+                () -> qrCodeImageRenderer.render(qrCodeId, eventId), executor)));
+
+        Map<UUID, byte[]> rendered = LinkedHashMap.newLinkedHashMap(images.size());
+        int i = 0;
+        try {
+            for (UUID qrCodeId : eventIdsByQrCodeId.keySet()) {
+                rendered.put(qrCodeId, images.get(i++).join());
+            }
+        } catch (CompletionException ex) {
+            images.forEach(image -> image.cancel(false));
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return rendered;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
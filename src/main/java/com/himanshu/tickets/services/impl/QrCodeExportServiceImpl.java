@@ -0,0 +1,212 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.QrCodeExportEntry;
+import com.himanshu.tickets.domain.QrCodeImageView;
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.services.QrCodeExportService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams every active QR code of an event as a ZIP: {@code manifest.csv} first, then one PNG per code in the
+ * manifest's order. Both passes read through database cursors inside one read-only snapshot, so memory stays
+ * flat however large the event is. Images the render pipeline has not stored yet are rendered here on a bounded
+ * pool, at most {@code window} entries ahead of the one being written; they are not persisted.
+ */
+@Service
+@Slf4j
+public class QrCodeExportServiceImpl implements QrCodeExportService {
+
+    static final String MANIFEST_NAME = "manifest.csv";
+
+    private static final String MANIFEST_HEADER = "file,qr_code_id,ticket_id,ticket_type,purchaser_name\n";
+
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final int window;
+
+    public QrCodeExportServiceImpl(QrCodeRepository qrCodeRepository,
+                                   QrCodeImageRenderer qrCodeImageRenderer,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${tickets.qr-code.export.threads:0}") int threads,
+                                   @Value("${tickets.qr-code.export.window:64}") int window) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.window = window;
+
+        // Repeatable read keeps the manifest and the images on the same snapshot of the event
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        // When concurrent exports fill the queue the exporting thread renders the image itself
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(window);
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.setThreadNamePrefix("qr-export-");
+        this.executor.initialize();
+    }
+
+    @Override
+    public void exportQrCodesForEvent(UUID eventId, OutputStream outputStream) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(outputStream);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    writeManifest(eventId, zip);
+                    writeImages(eventId, zip);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        zip.finish();
+    }
+
+    private void writeManifest(UUID eventId, ZipOutputStream zip) throws IOException {
+        zip.putNextEntry(new ZipEntry(MANIFEST_NAME));
+        // Not closed, closing would close the ZIP underneath it
+        Writer writer = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        writer.write(MANIFEST_HEADER);
+        try (Stream<QrCodeExportEntry> entries =
+                     qrCodeRepository.streamExportEntriesByEventIdAndStatus(eventId, QrCodeStatusEnum.ACTIVE)) {
+            Iterator<QrCodeExportEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                QrCodeExportEntry entry = iterator.next();
+                writer.write(fileName(entry.getId()));
+                writer.write(',');
+                writer.write(entry.getId().toString());
+                writer.write(',');
+                writer.write(entry.getTicketId().toString());
+                writer.write(',');
+                writer.write(csv(entry.getTicketTypeName()));
+                writer.write(',');
+                writer.write(csv(entry.getPurchaserName()));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        zip.closeEntry();
+    }
+
+    private void writeImages(UUID eventId, ZipOutputStream zip) throws IOException {
+        Deque<PendingImage> pending = new ArrayDeque<>(window);
+        try (Stream<QrCodeImageView> images =
+                     qrCodeRepository.streamImagesByEventIdAndStatus(eventId, QrCodeStatusEnum.ACTIVE)) {
+            Iterator<QrCodeImageView> iterator = images.iterator();
+            while (iterator.hasNext()) {
+                QrCodeImageView image = iterator.next();
+                pending.addLast(new PendingImage(image.getId(), imageOf(image)));
+                if (pending.size() >= window) {
+                    writeImage(zip, pending.removeFirst());
+                }
+            }
+            while (!pending.isEmpty()) {
+                writeImage(zip, pending.removeFirst());
+            }
+        } finally {
+            // Left over only when the client went away or a render failed
+            pending.forEach(image -> image.png().cancel(false));
+        }
+    }
+
+    private CompletableFuture<byte[]> imageOf(QrCodeImageView image) {
+        if (image.getImage() != null) {
+            return CompletableFuture.completedFuture(image.getImage());
+        }
+        if (image.getValue() != null) {
+            try {
+                return CompletableFuture.completedFuture(Base64.getDecoder().decode(image.getValue()));
+            } catch (IllegalArgumentException ex) {
+                log.warn("Invalid base64 QR Code {}, rendering it again for the export", image.getId());
+            }
+        }
+        return CompletableFuture.supplyAsync(
+                () -> qrCodeImageRenderer.render(image.getId(), image.getEventId()), executor);
+    }
+
+    private void writeImage(ZipOutputStream zip, PendingImage image) throws IOException {
+        byte[] png;
+        try {
+            png = image.png().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+
+        // PNGs are already deflated, so entries are stored as is
+        CRC32 crc = new CRC32();
+        crc.update(png);
+        ZipEntry entry = new ZipEntry(fileName(image.qrCodeId()));
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(png.length);
+        entry.setCrc(crc.getValue());
+        zip.putNextEntry(entry);
+        zip.write(png);
+        zip.closeEntry();
+    }
+
+    private static String fileName(UUID qrCodeId) {
+        return qrCodeId + ".png";
+    }
+
+    /**
+     * Quotes a manifest field when needed and defuses values a spreadsheet would run as a formula.
+     */
+    static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record PendingImage(UUID qrCodeId, CompletableFuture<byte[]> png) {
+    }
+}
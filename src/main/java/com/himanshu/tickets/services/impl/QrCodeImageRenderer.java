@@ -0,0 +1,74 @@
+package com.himanshu.tickets.services.impl;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+import com.himanshu.tickets.exceptions.QrCodeGenerationException;
+import com.himanshu.tickets.util.QrCodePngWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class QrCodeImageRenderer {
+
+    private static final int QRCODE_WIDTH = 300;
+    private static final int QRCODE_HEIGHT = 300;
+
+    private final QRCodeWriter qrCodeWriter;
+    private final QrCodePayloadCodec qrCodePayloadCodec;
+    private final Map<EncodeHintType, ?> hints;
+    private final int moduleSize;
+    private final String renderVersion;
+
+    /**
+     * @param errorCorrection share of the symbol spent on recovery, from L (7%) to H (30%)
+     * @param moduleSize      pixels per module, or 0 to fit the symbol into 300x300
+     */
+    public QrCodeImageRenderer(QRCodeWriter qrCodeWriter,
+                               QrCodePayloadCodec qrCodePayloadCodec,
+                               @Value("${tickets.qr-code.error-correction}") ErrorCorrectionLevel errorCorrection,
+                               @Value("${tickets.qr-code.module-size}") int moduleSize) {
+        this.qrCodeWriter = qrCodeWriter;
+        this.qrCodePayloadCodec = qrCodePayloadCodec;
+        this.hints = Map.of(EncodeHintType.ERROR_CORRECTION, errorCorrection);
+        this.moduleSize = moduleSize;
+        this.renderVersion = qrCodePayloadCodec.getEncodingVersion()
+                + "-" + errorCorrection.name().toLowerCase() + "-m" + moduleSize;
+    }
+
+    /**
+     * Identifies the images {@link #render} produces: the payload's key and format, the error
+     * correction level and the module size. A change to any of them draws a different PNG.
+     */
+    public String getRenderVersion() {
+        return renderVersion;
+    }
+
+    public byte[] render(UUID qrCodeId, UUID eventId) {
+        String payload = qrCodePayloadCodec.encode(qrCodeId, eventId);
+        try {
+            if (moduleSize > 0) {
+                // One pixel per module from ZXing, scaled up while the PNG is written
+                BitMatrix bitMatrix = qrCodeWriter.encode(payload, BarcodeFormat.QR_CODE, 0, 0, hints);
+                return QrCodePngWriter.write(bitMatrix, moduleSize);
+            }
+
+            BitMatrix bitMatrix = qrCodeWriter.encode(
+                    payload,
+                    BarcodeFormat.QR_CODE,
+                    QRCODE_WIDTH,
+                    QRCODE_HEIGHT,
+                    hints);
+
+            return QrCodePngWriter.write(bitMatrix);
+        } catch (WriterException ex) {
+            throw new QrCodeGenerationException("Failed to generate QR code", ex);
+        }
+    }
+}
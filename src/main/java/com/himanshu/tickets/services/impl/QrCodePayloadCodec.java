@@ -0,0 +1,173 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.QrCodePayload;
+import com.himanshu.tickets.domain.QrCodePayloadFormatEnum;
+import com.himanshu.tickets.util.Base45;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Encodes and verifies the text carried by a ticket's QR code: a format byte, the signing
+ * key id, the QR code and event ids, and an HMAC-SHA256 tag truncated to 64 bits, written
+ * as 56 characters of URL-safe Base64 or, in the compact format, 63 characters of Base45.
+ * Both formats and bare ids from before signing are always accepted, told apart by length.
+ * Verification is pure CPU, so forged, damaged or foreign codes are turned away before any lookup.
+ */
+@Component
+public class QrCodePayloadCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte FORMAT_SIGNED = 1;
+    private static final int MAC_LENGTH = 8;
+    private static final int SIGNED_LENGTH = 2 + 16 + 16;
+    private static final int PAYLOAD_LENGTH = SIGNED_LENGTH + MAC_LENGTH;
+    private static final int BASE64_LENGTH = 56;
+    private static final int BASE45_LENGTH = 63;
+    private static final int UUID_LENGTH = 36;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    // Mac instances are stateful, so each thread keeps its own per key
+    private final Map<Integer, ThreadLocal<Mac>> macs = new HashMap<>();
+    private final int activeKeyId;
+    private final boolean acceptUnsigned;
+    private final QrCodePayloadFormatEnum format;
+
+    /**
+     * @param keys           comma separated {@code id:base64-secret} pairs; retired keys stay listed
+     *                       until the events they signed for are over
+     * @param activeKeyId    the key new payloads are signed with
+     * @param acceptUnsigned whether bare QR code ids from before signing are still accepted
+     * @param format         how new payloads are written
+     */
+    public QrCodePayloadCodec(@Value("${tickets.qr-code.signing.keys}") String keys,
+                              @Value("${tickets.qr-code.signing.active-key-id}") int activeKeyId,
+                              @Value("${tickets.qr-code.signing.accept-unsigned}") boolean acceptUnsigned,
+                              @Value("${tickets.qr-code.payload.format}") QrCodePayloadFormatEnum format) {
+        for (String entry : keys.split(",")) {
+            // Parsing errors would quote the secret, so they are replaced rather than passed on
+            String[] parts = entry.trim().split(":", 2);
+            int keyId = parts.length == 2 ? parseKeyId(parts[0]) : -1;
+            if (keyId < 0 || keyId > 255) {
+                throw new IllegalArgumentException("QR code signing keys must be id:secret pairs with ids 0-255");
+            }
+            SecretKeySpec key = new SecretKeySpec(decodeSecret(keyId, parts[1]), ALGORITHM);
+            macs.put(keyId, ThreadLocal.withInitial(() -> newMac(key)));
+        }
+        if (!macs.containsKey(activeKeyId)) {
+            throw new IllegalArgumentException("No QR code signing key with id " + activeKeyId);
+        }
+        this.activeKeyId = activeKeyId;
+        this.acceptUnsigned = acceptUnsigned;
+        this.format = format;
+    }
+
+    private static int parseKeyId(String keyId) {
+        try {
+            return Integer.parseInt(keyId);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    private static byte[] decodeSecret(int keyId, String secret) {
+        try {
+            return Base64.getDecoder().decode(secret);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("QR code signing key " + keyId + " is not valid Base64");
+        }
+    }
+
+    /**
+     * Identifies the payloads {@link #encode} writes: the same id and event give the same text
+     * for as long as this stays the same.
+     */
+    public String getEncodingVersion() {
+        return "k" + activeKeyId + "-" + format.name().toLowerCase();
+    }
+
+    public String encode(UUID qrCodeId, UUID eventId) {
+        ByteBuffer buffer = ByteBuffer.allocate(PAYLOAD_LENGTH)
+                .put(FORMAT_SIGNED)
+                .put((byte) activeKeyId)
+                .putLong(qrCodeId.getMostSignificantBits())
+                .putLong(qrCodeId.getLeastSignificantBits())
+                .putLong(eventId.getMostSignificantBits())
+                .putLong(eventId.getLeastSignificantBits());
+        buffer.put(sign(macs.get(activeKeyId).get(), buffer.array()), 0, MAC_LENGTH);
+        return format == QrCodePayloadFormatEnum.COMPACT
+                ? Base45.encode(buffer.array())
+                : ENCODER.encodeToString(buffer.array());
+    }
+
+    public Optional<QrCodePayload> decode(String payload) {
+        if (payload == null) {
+            return Optional.empty();
+        }
+        if (payload.length() == UUID_LENGTH) {
+            return acceptUnsigned ? parseUnsigned(payload) : Optional.empty();
+        }
+        if (payload.length() != BASE64_LENGTH && payload.length() != BASE45_LENGTH) {
+            return Optional.empty();
+        }
+
+        byte[] bytes;
+        try {
+            bytes = payload.length() == BASE45_LENGTH ? Base45.decode(payload) : DECODER.decode(payload);
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+        if (bytes.length != PAYLOAD_LENGTH || bytes[0] != FORMAT_SIGNED) {
+            return Optional.empty();
+        }
+        ThreadLocal<Mac> mac = macs.get(bytes[1] & 0xFF);
+        if (mac == null) {
+            return Optional.empty();
+        }
+        byte[] expected = Arrays.copyOf(sign(mac.get(), bytes), MAC_LENGTH);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, SIGNED_LENGTH, PAYLOAD_LENGTH))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, 32);
+        UUID qrCodeId = new UUID(buffer.getLong(), buffer.getLong());
+        UUID eventId = new UUID(buffer.getLong(), buffer.getLong());
+        return Optional.of(new QrCodePayload(qrCodeId, eventId));
+    }
+
+    private static Optional<QrCodePayload> parseUnsigned(String payload) {
+        try {
+            return Optional.of(new QrCodePayload(UUID.fromString(payload), null));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    private static byte[] sign(Mac mac, byte[] payload) {
+        mac.update(payload, 0, SIGNED_LENGTH);
+        return mac.doFinal();
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+}
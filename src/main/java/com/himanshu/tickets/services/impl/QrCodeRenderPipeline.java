@@ -0,0 +1,94 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Renders pending QR code images off the purchase path. Work is driven by the
+ * {@code qr_code_render_jobs} outbox: a job row is deleted in the same transaction
+ * that stores the image, so anything dropped here is picked up again by the sweeper.
+ */
+@Component
+@Slf4j
+public class QrCodeRenderPipeline {
+
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final QrCodeRepository qrCodeRepository;
+    private final QrCodeRenderJobRepository qrCodeRenderJobRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolTaskExecutor executor;
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public QrCodeRenderPipeline(QrCodeImageRenderer qrCodeImageRenderer,
+                                QrCodeRepository qrCodeRepository,
+                                QrCodeRenderJobRepository qrCodeRenderJobRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${tickets.qr-code.render.threads:0}") int threads,
+                                @Value("${tickets.qr-code.render.queue-capacity:10000}") int queueCapacity) {
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeRenderJobRepository = qrCodeRenderJobRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Rendering is CPU bound, so the pool is sized to the cores rather than the request load
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("qr-render-");
+        this.executor.initialize();
+    }
+
+    public void submit(Collection<UUID> qrCodeIds) {
+        for (UUID qrCodeId : qrCodeIds) {
+            if (!inFlight.add(qrCodeId)) {
+                continue;
+            }
+            try {
+                executor.execute(() -> render(qrCodeId));
+            } catch (TaskRejectedException ex) {
+                inFlight.remove(qrCodeId);
+                log.warn("QR code render queue is full, leaving {} for the sweeper", qrCodeId);
+            }
+        }
+    }
+
+    private void render(UUID qrCodeId) {
+        try {
+            UUID eventId = qrCodeRepository.findEventIdById(qrCodeId).orElse(null);
+            if (eventId == null) {
+                // Removed since it was queued; drop the job so the sweeper stops retrying it
+                transactionTemplate.executeWithoutResult(status -> qrCodeRenderJobRepository.deleteByQrCodeId(qrCodeId));
+                return;
+            }
+            byte[] image = qrCodeImageRenderer.render(qrCodeId, eventId);
+            transactionTemplate.executeWithoutResult(status -> {
+                qrCodeRepository.updateImageIfPending(qrCodeId, image);
+                qrCodeRenderJobRepository.deleteByQrCodeId(qrCodeId);
+            });
+        } catch (RuntimeException ex) {
+            log.error("Failed to render QR code {}", qrCodeId, ex);
+        } finally {
+            inFlight.remove(qrCodeId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,64 +1,130 @@
 package com.himanshu.tickets.services.impl;
 
-import com.google.zxing.BarcodeFormat;
-import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
-import com.google.zxing.common.BitMatrix;
-import com.google.zxing.qrcode.QRCodeWriter;
+import com.himanshu.tickets.domain.QrCodeImageView;
+import com.himanshu.tickets.domain.QrCodeVersionView;
 import com.himanshu.tickets.domain.entities.QrCode;
+import com.himanshu.tickets.domain.entities.QrCodeRenderJob;
 import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
 import com.himanshu.tickets.domain.entities.Ticket;
-import com.himanshu.tickets.exceptions.QrCodeGenerationException;
 import com.himanshu.tickets.exceptions.QrcodeNotFoundException;
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
 import com.himanshu.tickets.repositories.QrCodeRepository;
 import com.himanshu.tickets.services.QrCodeService;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
-@RequiredArgsConstructor
 @Service
+@ConditionalOnProperty(name = "tickets.qr-code.storage", havingValue = "stored", matchIfMissing = true)
 @Slf4j
 public class QrCodeServiceImpl implements QrCodeService {
 
-
-    private static final int QRCODE_WIDTH = 300;
-    private static final int QRCODE_HEIGHT = 300;
-
-    private final QRCodeWriter  qrCodeWriter;
     private final QrCodeRepository qrCodeRepository;
-
+    private final QrCodeRenderJobRepository qrCodeRenderJobRepository;
+    private final QrCodeImageRenderer qrCodeImageRenderer;
+    private final QrCodeRenderPipeline qrCodeRenderPipeline;
+    private final QrCodeBulkRenderer qrCodeBulkRenderer;
+    private final TransactionTemplate transactionTemplate;
+
+    public QrCodeServiceImpl(QrCodeRepository qrCodeRepository,
+                             QrCodeRenderJobRepository qrCodeRenderJobRepository,
+                             QrCodeImageRenderer qrCodeImageRenderer,
+                             QrCodeRenderPipeline qrCodeRenderPipeline,
+                             QrCodeBulkRenderer qrCodeBulkRenderer,
+                             PlatformTransactionManager transactionManager) {
+        this.qrCodeRepository = qrCodeRepository;
+        this.qrCodeRenderJobRepository = qrCodeRenderJobRepository;
+        this.qrCodeImageRenderer = qrCodeImageRenderer;
+        this.qrCodeRenderPipeline = qrCodeRenderPipeline;
+        this.qrCodeBulkRenderer = qrCodeBulkRenderer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     @Override
     public QrCode generateQrCode(Ticket ticket) {
-       try {
-           UUID uniqueId = UUID.randomUUID();
-           String qrCodeImage = generateQrCodeImage(uniqueId);
+        return generateQrCodes(List.of(ticket)).getFirst();
+    }
+
+    @Override
+    public List<QrCode> generateQrCodes(List<Ticket> tickets) {
+        // Only pending rows are written here; the image is rendered once the purchase has committed
+        List<QrCode> qrCodes = qrCodeRepository.saveAll(tickets.stream().map(this::buildQrCode).toList());
+        List<UUID> qrCodeIds = qrCodes.stream().map(QrCode::getId).toList();
+        qrCodeRenderJobRepository.saveAll(qrCodeIds.stream()
+                .map(id -> QrCodeRenderJob.builder().qrCodeId(id).build())
+                .toList());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    qrCodeRenderPipeline.submit(qrCodeIds);
+                }
+            });
+        } else {
+            qrCodeRenderPipeline.submit(qrCodeIds);
+        }
+        return qrCodes;
+    }
+
+    @Override
+    public List<QrCode> issueQrCodes(List<Ticket> tickets) {
+        List<QrCode> qrCodes = tickets.stream().map(this::buildQrCode).toList();
+        Map<UUID, UUID> eventIds = LinkedHashMap.newLinkedHashMap(qrCodes.size());
+        for (QrCode qrCode : qrCodes) {
+            eventIds.put(qrCode.getId(), qrCode.getTicket().getTicketType().getEvent().getId());
+        }
+
+        // Rendered in parallel before anything is written, then inserted with the image in JDBC batches
+        Map<UUID, byte[]> images = qrCodeBulkRenderer.render(eventIds);
+        qrCodes.forEach(qrCode -> qrCode.setImage(images.get(qrCode.getId())));
+        return qrCodeRepository.saveAll(qrCodes);
+    }
 
-           QrCode qrCode = new QrCode();
-           qrCode.setId(uniqueId);
-           qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
-           qrCode.setValue(qrCodeImage);
-           qrCode.setTicket(ticket);
+    private QrCode buildQrCode(Ticket ticket) {
+        QrCode qrCode = new QrCode();
+        qrCode.setId(UUID.randomUUID());
+        qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+        qrCode.setTicket(ticket);
+        return qrCode;
+    }
 
-           return qrCodeRepository.saveAndFlush(qrCode);
+    @Override
+    public QrCodeVersionView getQrCodeVersionForUserAndTicket(UUID userId, UUID ticketId) {
+        return qrCodeRepository.findVersionByTicketIdAndPurchaserId(ticketId, userId)
+                .orElseThrow(QrcodeNotFoundException::new);
+    }
 
-       }catch (WriterException | IOException ex){
-           throw new QrCodeGenerationException("Failed to generate QR code", ex);
-       }
+    @Override
+    public String getQrCodeRenderVersion() {
+        return qrCodeImageRenderer.getRenderVersion();
     }
 
     @Override
     public byte[] getQrCodeImageForUserAndTicket(UUID userId, UUID ticketId) {
-        QrCode qrCode = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, userId)
+        QrCodeImageView qrCode = qrCodeRepository.findImageByTicketIdAndPurchaserId(ticketId, userId)
                 .orElseThrow((QrcodeNotFoundException::new));
+        if (qrCode.getImage() != null) {
+            return qrCode.getImage();
+        }
+        if (qrCode.getValue() == null) {
+            // Either the render pipeline has not caught up yet, or the row was issued in lazy mode and has no
+            // render job at all; stored here either way so later reads find it. A no-op if the pipeline won
+            byte[] image = qrCodeImageRenderer.render(qrCode.getId(), qrCode.getEventId());
+            transactionTemplate.executeWithoutResult(status -> qrCodeRepository.updateImageIfPending(qrCode.getId(), image));
+            return image;
+        }
+        // Row not reached by QrCodeImageMigrationJob yet
         try {
             return Base64.getDecoder().decode(qrCode.getValue());
         }catch (IllegalArgumentException ex){
@@ -66,21 +132,4 @@ public class QrCodeServiceImpl implements QrCodeService {
             throw new QrcodeNotFoundException();
         }
     }
-
-    private String generateQrCodeImage(UUID uniqueId) throws WriterException, IOException {
-        BitMatrix bitMatrix = qrCodeWriter.encode(
-                uniqueId.toString(),
-                BarcodeFormat.QR_CODE,
-                QRCODE_WIDTH,
-                QRCODE_HEIGHT);
-
-        BufferedImage qrCodeImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-
-        try(ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream()) {
-            ImageIO.write(qrCodeImage, "PNG", byteArrayOutputStream);
-
-            byte[] imageBytes = byteArrayOutputStream.toByteArray();
-            return Base64.getEncoder().encodeToString(imageBytes);
-        }
-    }
 }
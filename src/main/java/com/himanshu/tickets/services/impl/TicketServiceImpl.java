@@ -1,13 +1,19 @@
 package com.himanshu.tickets.services.impl;
 
+import com.himanshu.tickets.domain.CursorPage;
+import com.himanshu.tickets.domain.KeysetCursor;
+import com.himanshu.tickets.domain.TicketVersionView;
 import com.himanshu.tickets.domain.entities.Ticket;
 import com.himanshu.tickets.repositories.TicketRepository;
 import com.himanshu.tickets.services.TicketService;
+import com.himanshu.tickets.util.CursorUtil;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,8 +28,24 @@ public class TicketServiceImpl implements TicketService {
         return ticketRepository.findByPurchaserId(userId,pageable);
     }
 
+    @Override
+    public CursorPage<Ticket> scrollTicketsForUser(UUID userId, String cursor, int size) {
+        KeysetCursor position = CursorUtil.decode(cursor);
+        int pageSize = Math.clamp(size, 1, CursorPage.MAX_SIZE);
+        Limit limit = Limit.of(pageSize + 1);
+        List<Ticket> tickets = position == null
+                ? ticketRepository.scrollByPurchaserId(userId, limit)
+                : ticketRepository.scrollByPurchaserIdAfter(userId, position.getCreatedAt(), position.getId(), limit);
+        return CursorPage.of(tickets, pageSize, Ticket::getCreatedAt, Ticket::getId);
+    }
+
     @Override
     public Optional<Ticket> getTicketForUser(UUID userId, UUID ticketId) {
         return ticketRepository.findByIdAndPurchaserId(ticketId,userId);
     }
+
+    @Override
+    public Optional<TicketVersionView> getTicketVersionForUser(UUID userId, UUID ticketId) {
+        return ticketRepository.findVersionByIdAndPurchaserId(ticketId, userId);
+    }
 }
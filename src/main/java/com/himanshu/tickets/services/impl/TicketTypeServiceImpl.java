@@ -1,60 +1,304 @@
 package com.himanshu.tickets.services.impl;
 
+import com.himanshu.tickets.domain.PurchaseTicketItem;
+import com.himanshu.tickets.domain.PurchaseTicketsRequest;
 import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketInventoryBucket;
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
 import com.himanshu.tickets.domain.entities.TicketStatusEnum;
 import com.himanshu.tickets.domain.entities.TicketType;
 import com.himanshu.tickets.domain.entities.User;
+import com.himanshu.tickets.exceptions.PurchaseLimitExceededException;
 import com.himanshu.tickets.exceptions.TicketTypeNotFoundException;
 import com.himanshu.tickets.exceptions.TicketsSoldOutException;
 import com.himanshu.tickets.exceptions.UserNotFoundException;
+import com.himanshu.tickets.repositories.TicketInventoryBucketRepository;
 import com.himanshu.tickets.repositories.TicketRepository;
 import com.himanshu.tickets.repositories.TicketTypeRepository;
 import com.himanshu.tickets.repositories.UserRepository;
 import com.himanshu.tickets.services.QrCodeService;
 import com.himanshu.tickets.services.TicketTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class TicketTypeServiceImpl implements TicketTypeService {
 
     private final UserRepository userRepository;
     private final TicketTypeRepository ticketTypeRepository;
     private final TicketRepository ticketRepository;
+    private final TicketInventoryBucketRepository ticketInventoryBucketRepository;
     private final QrCodeService qrCodeService;
+    private final InMemoryTicketInventory inMemoryTicketInventory;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${tickets.purchase.max-per-order}")
+    private int maxTicketsPerOrder;
+
+    @Value("${tickets.purchase.max-per-user}")
+    private int maxTicketsPerUser;
 
     @Override
     @Transactional
     public Ticket purchaseTicket(UUID userId, UUID ticketTypeId) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(
+        PurchaseTicketsRequest request = new PurchaseTicketsRequest(List.of(new PurchaseTicketItem(ticketTypeId, 1)));
+        return purchaseTickets(userId, request).getFirst();
+    }
+
+    @Override
+    @Transactional
+    public List<Ticket> purchaseTickets(UUID userId, PurchaseTicketsRequest request) {
+        // Sorted by ticket type so concurrent baskets acquire inventory locks in the same order
+        Map<UUID, Integer> quantities = new TreeMap<>();
+        for (PurchaseTicketItem item : request.getItems()) {
+            if (item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new PurchaseLimitExceededException(
+                        String.format("Quantity for ticket type %s must be at least 1", item.getTicketTypeId()));
+            }
+            quantities.merge(item.getTicketTypeId(), item.getQuantity(), Integer::sum);
+        }
+
+        int orderQuantity = quantities.values().stream().mapToInt(Integer::intValue).sum();
+        if (orderQuantity > maxTicketsPerOrder) {
+            throw new PurchaseLimitExceededException(
+                    String.format("Cannot purchase %d tickets in one order, the limit is %d", orderQuantity, maxTicketsPerOrder));
+        }
+
+        // Locking the purchaser serializes their concurrent orders so the per-user limit holds
+        User user = userRepository.findByIdWithLock(userId).orElseThrow(() -> new UserNotFoundException(
                 String.format("User with id %s not found", userId)
         ));
 
-        TicketType ticketType = ticketTypeRepository.findByIdWithLock(ticketTypeId).orElseThrow(() -> new TicketTypeNotFoundException(
+        List<Ticket> tickets = new ArrayList<>(orderQuantity);
+
+        for (Map.Entry<UUID, Integer> entry : quantities.entrySet()) {
+            UUID ticketTypeId = entry.getKey();
+            int quantity = entry.getValue();
+
+            TicketType ticketType = ticketTypeRepository.findById(ticketTypeId).orElseThrow(() -> new TicketTypeNotFoundException(
+                    String.format("Ticket type with id %s not found", ticketTypeId)
+            ));
+            // Anything reserved for earlier items is released when the transaction rolls back
+            if (request.getEventId() != null && !request.getEventId().equals(ticketType.getEvent().getId())) {
+                throw new TicketTypeNotFoundException(
+                        String.format("Ticket type with id %s not found for event %s", ticketTypeId, request.getEventId()));
+            }
+
+            int owned = ticketRepository.countByTicketTypeIdAndPurchaserId(ticketTypeId, userId);
+            if (owned + quantity > maxTicketsPerUser) {
+                throw new PurchaseLimitExceededException(
+                        String.format("User %s cannot hold more than %d tickets of type %s", userId, maxTicketsPerUser, ticketTypeId));
+            }
+
+            reserveInventory(ticketType, quantity);
+
+            for (int i = 0; i < quantity; i++) {
+                Ticket ticket = new Ticket();
+                ticket.setStatus(TicketStatusEnum.PURCHASED);
+                ticket.setTicketType(ticketType);
+                ticket.setPurchaser(user);
+                tickets.add(ticket);
+            }
+        }
+
+        List<Ticket> savedTickets = ticketRepository.saveAll(tickets);
+        qrCodeService.generateQrCodes(savedTickets);
+
+        return savedTickets;
+    }
+
+    private void reserveInventory(TicketType ticketType, int quantity) {
+        TicketInventoryModeEnum mode = ticketType.getInventoryMode() == null ? TicketInventoryModeEnum.COUNTER : ticketType.getInventoryMode();
+
+        // Includes waiting for the row locks on the inventory counter or buckets
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean reserved = switch (mode) {
+            case SHARDED -> reserveFromBuckets(ticketType, quantity);
+            case IN_MEMORY -> reserveInMemory(ticketType, quantity);
+            case COUNTER -> ticketTypeRepository.incrementSold(ticketType.getId(), quantity) == 1;
+        };
+        sample.stop(Timer.builder("tickets.inventory.reservation")
+                .description("Time spent reserving inventory for a purchase")
+                .tag("mode", mode.name())
+                .tag("outcome", reserved ? "reserved" : "sold_out")
+                .register(meterRegistry));
+
+        if (!reserved) {
+            throw new TicketsSoldOutException(
+                    String.format("Ticket type with id %s has been sold out", ticketType.getId()));
+        }
+    }
+
+    // Starts at a random bucket so concurrent buyers spread over different rows
+    private boolean reserveFromBuckets(TicketType ticketType, int quantity) {
+        int bucketCount = ticketType.getInventoryBucketCount();
+        int start = ThreadLocalRandom.current().nextInt(bucketCount);
+
+        for (int i = 0; i < bucketCount; i++) {
+            int bucketIndex = (start + i) % bucketCount;
+            if (ticketInventoryBucketRepository.decrementRemaining(ticketType.getId(), bucketIndex, quantity) == 1) {
+                return true;
+            }
+        }
+        return quantity > 1 && reserveAcrossBuckets(ticketType, quantity);
+    }
+
+    // No single bucket can fill a multi-ticket order, so drain several; locks in bucket order like rebalancing
+    private boolean reserveAcrossBuckets(TicketType ticketType, int quantity) {
+        List<TicketInventoryBucket> buckets = ticketInventoryBucketRepository.findByTicketTypeIdWithLock(ticketType.getId());
+        if (buckets.stream().mapToInt(TicketInventoryBucket::getRemaining).sum() < quantity) {
+            return false;
+        }
+
+        int needed = quantity;
+        for (TicketInventoryBucket bucket : buckets) {
+            int taken = Math.min(needed, bucket.getRemaining());
+            bucket.setRemaining(bucket.getRemaining() - taken);
+            needed -= taken;
+            if (needed == 0) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private boolean reserveInMemory(TicketType ticketType, int quantity) {
+        if (!inMemoryTicketInventory.isLoaded(ticketType.getId())) {
+            loadInMemoryInventory(ticketType);
+        }
+        if (!inMemoryTicketInventory.tryReserve(ticketType.getId(), quantity)) {
+            return false;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    inMemoryTicketInventory.release(ticketType.getId(), quantity);
+                }
+            }
+        });
+        return true;
+    }
+
+    private void loadInMemoryInventory(TicketType ticketType) {
+        // Row lock waits for counter-mode purchases still in flight from before the switch
+        ticketTypeRepository.findByIdWithLock(ticketType.getId());
+        int purchasedTickets = ticketRepository.countByTicketTypeId(ticketType.getId());
+        ticketTypeRepository.updateSold(ticketType.getId(), purchasedTickets);
+        inMemoryTicketInventory.load(ticketType.getId(), ticketType.getTotalAvailable(), purchasedTickets);
+    }
+
+    @Override
+    @Transactional
+    public boolean reconcileInventory(UUID ticketTypeId) {
+        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId).orElseThrow(() -> new TicketTypeNotFoundException(
                 String.format("Ticket type with id %s not found", ticketTypeId)
         ));
 
-        int purchasedTicket = ticketRepository.countByTicketTypeId(ticketType.getId());
-        Integer totalAvailable = ticketType.getTotalAvailable();
+        if (ticketType.isInMemory()) {
+            // The in-memory counter is authoritative while live; only the reporting counter is refreshed
+            loadInMemoryInventory(ticketType);
+            return false;
+        }
+        inMemoryTicketInventory.evict(ticketTypeId);
 
-        if (purchasedTicket + 1 > totalAvailable) {
-            throw new TicketsSoldOutException(
-                    String.format("Ticket type with id %s has been sold out", ticketTypeId));
+        if (ticketType.isSharded()) {
+            return reconcileBuckets(ticketType);
+        }
+
+        // Row lock waits for in-flight purchases so the count below includes their tickets
+        ticketTypeRepository.findByIdWithLock(ticketTypeId);
+
+        List<TicketInventoryBucket> buckets = ticketInventoryBucketRepository.findByTicketTypeIdWithLock(ticketTypeId);
+        ticketInventoryBucketRepository.deleteAll(buckets);
+
+        int purchasedTickets = ticketRepository.countByTicketTypeId(ticketTypeId);
+        Integer sold = ticketTypeRepository.findSoldById(ticketTypeId);
+        if (buckets.isEmpty() && sold != null && sold == purchasedTickets) {
+            return false;
         }
 
-        Ticket ticket = new Ticket();
-        ticket.setStatus(TicketStatusEnum.PURCHASED);
-        ticket.setTicketType(ticketType);
-        ticket.setPurchaser(user);
-        Ticket savedTicket = ticketRepository.save(ticket);
-        qrCodeService.generateQrCode(savedTicket);
+        log.warn("Sold counter for ticket type {} drifted: counter={}, tickets={}",
+                ticketTypeId, sold, purchasedTickets);
+        ticketTypeRepository.updateSold(ticketTypeId, purchasedTickets);
+        return true;
+    }
 
-        return ticketRepository.save(savedTicket);
+    private boolean reconcileBuckets(TicketType ticketType) {
+        // Sharded purchases hold a bucket lock until commit, so locking every bucket drains them first
+        List<TicketInventoryBucket> buckets = ticketInventoryBucketRepository.findByTicketTypeIdWithLock(ticketType.getId());
 
+        int purchasedTickets = ticketRepository.countByTicketTypeId(ticketType.getId());
+        ticketTypeRepository.updateSold(ticketType.getId(), purchasedTickets);
 
+        int expectedRemaining = Math.max(0, ticketType.getTotalAvailable() - purchasedTickets);
+        int actualRemaining = buckets.stream().mapToInt(TicketInventoryBucket::getRemaining).sum();
+        if (buckets.size() == ticketType.getInventoryBucketCount() && actualRemaining == expectedRemaining) {
+            return false;
+        }
+
+        log.warn("Inventory buckets for ticket type {} drifted: buckets={}, remaining={}, expected={}",
+                ticketType.getId(), buckets.size(), actualRemaining, expectedRemaining);
+        redistribute(ticketType, buckets, expectedRemaining);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public void rebalanceInventoryBuckets(UUID ticketTypeId) {
+        TicketType ticketType = ticketTypeRepository.findById(ticketTypeId).orElseThrow(() -> new TicketTypeNotFoundException(
+                String.format("Ticket type with id %s not found", ticketTypeId)
+        ));
+        if (!ticketType.isSharded()) {
+            return;
+        }
+
+        List<TicketInventoryBucket> buckets = ticketInventoryBucketRepository.findByTicketTypeIdWithLock(ticketTypeId);
+        int remaining = buckets.stream().mapToInt(TicketInventoryBucket::getRemaining).sum();
+        redistribute(ticketType, buckets, remaining);
+    }
+
+    private void redistribute(TicketType ticketType, List<TicketInventoryBucket> buckets, int remaining) {
+        int bucketCount = ticketType.getInventoryBucketCount();
+        int share = remaining / bucketCount;
+        int extra = remaining % bucketCount;
+
+        for (TicketInventoryBucket bucket : buckets) {
+            if (bucket.getBucketIndex() >= bucketCount) {
+                ticketInventoryBucketRepository.delete(bucket);
+            }
+        }
+
+        for (int bucketIndex = 0; bucketIndex < bucketCount; bucketIndex++) {
+            int index = bucketIndex;
+            TicketInventoryBucket bucket = buckets.stream()
+                    .filter(b -> b.getBucketIndex() == index)
+                    .findFirst()
+                    .orElseGet(() -> {
+                        TicketInventoryBucket newBucket = new TicketInventoryBucket();
+                        newBucket.setTicketType(ticketType);
+                        newBucket.setBucketIndex(index);
+                        return newBucket;
+                    });
+            bucket.setRemaining(share + (bucketIndex < extra ? 1 : 0));
+            ticketInventoryBucketRepository.save(bucket);
+        }
     }
 }
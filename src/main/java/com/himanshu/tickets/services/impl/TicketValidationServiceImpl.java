@@ -1,60 +1,323 @@
 package com.himanshu.tickets.services.impl;
 
+import com.himanshu.tickets.domain.OfflineTicketScan;
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.QrCodePayload;
+import com.himanshu.tickets.domain.QrCodeManifestEntry;
+import com.himanshu.tickets.domain.QrCodeTicketId;
+import com.himanshu.tickets.domain.TicketManifest;
+import com.himanshu.tickets.domain.TicketValidationRequest;
 import com.himanshu.tickets.domain.entities.*;
+import com.himanshu.tickets.exceptions.EventNotFoundException;
 import com.himanshu.tickets.exceptions.QrcodeNotFoundException;
 import com.himanshu.tickets.exceptions.TicketNotFoundException;
+import com.himanshu.tickets.repositories.EventRepository;
 import com.himanshu.tickets.repositories.QrCodeRepository;
 import com.himanshu.tickets.repositories.TicketRepository;
 import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.CheckInCounterService;
 import com.himanshu.tickets.services.TicketValidationService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
 @Service
 @Transactional
 public class TicketValidationServiceImpl implements TicketValidationService {
 
+    // Scanners binary-search the manifest, so IDs are ordered as unsigned 128-bit integers
+    static final Comparator<UUID> MANIFEST_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    // Earliest scan wins; the device id breaks ties between scanners with identical clocks
+    private static final Comparator<TicketValidation> SCAN_ORDER = Comparator
+            .comparing(TicketValidationServiceImpl::scannedAt)
+            .thenComparing(TicketValidation::getDeviceId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    // Rows committed shortly after a version was read can carry older timestamps, so deltas re-send this window
+    private static final Duration MANIFEST_DELTA_OVERLAP = Duration.ofMinutes(1);
+
     private final TicketValidationRepository ticketValidationRepository;
     private final QrCodeRepository qrCodeRepository;
     private final TicketRepository ticketRepository;
+    private final EventRepository eventRepository;
+    private final CheckInCounterService checkInCounterService;
+    private final QrCodePayloadCodec qrCodePayloadCodec;
 
     @Override
-    public TicketValidation validateTicketByQrCode(UUID qrCodeId) {
-        QrCode qrCode = qrCodeRepository.findByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE)
+    public TicketValidation validateTicketByQrCode(UUID qrCodeId, String gate) {
+        UUID ticketId = qrCodeRepository.findTicketIdByIdAndStatus(qrCodeId, QrCodeStatusEnum.ACTIVE)
                 .orElseThrow(() -> new QrcodeNotFoundException(
                         String.format("QR Code with id %s not found", qrCodeId)
                 ));
 
-        Ticket ticket = qrCode.getTicket();
-
+        return validateTicket(ticketId, TicketValidationMethod.QR_SCAN, gate);
+    }
 
-        return validateTicket(ticket, TicketValidationMethod.QR_SCAN);
+    @Override
+    public TicketValidation validateTicketByQrPayload(String payload, UUID eventId, String gate) {
+        QrCodePayload qrCodePayload = qrCodePayloadCodec.decode(payload).orElse(null);
+        if (qrCodePayload == null || !qrCodePayload.isFor(eventId)) {
+            return rejectedValidation(TicketValidationMethod.QR_SCAN);
+        }
+        return validateTicketByQrCode(qrCodePayload.getQrCodeId(), gate);
     }
 
-    private TicketValidation validateTicket(Ticket ticket, TicketValidationMethod ticketValidationMethod) {
+    private TicketValidation validateTicket(UUID ticketId, TicketValidationMethod ticketValidationMethod, String gate) {
+        LocalDateTime scannedAt = LocalDateTime.now();
+
         TicketValidation ticketValidation = new TicketValidation();
-        ticketValidation.setTicket(ticket);
+        ticketValidation.setTicket(ticketRepository.getReferenceById(ticketId));
         ticketValidation.setValidationMethod(ticketValidationMethod);
+        ticketValidation.setScannedAt(scannedAt);
+        ticketValidation.setGate(gate);
 
-
-        TicketValidationStatusEnum ticketValidationStatus = ticket.getValidations().stream()
-                .filter(v -> TicketValidationStatusEnum.VALID.equals(v.getStatus()))
-                .findFirst()
-                .map(v -> TicketValidationStatusEnum.INVALID)
-                .orElse(TicketValidationStatusEnum.VALID);
-        ticketValidation.setStatus(ticketValidationStatus);
+        // One indexed row update decides admission, however many times the ticket was scanned before
+        if (ticketRepository.markFirstValidated(ticketId, scannedAt) == 1) {
+            ticketValidation.setStatus(TicketValidationStatusEnum.VALID);
+            ticketRepository.findCheckInTargetById(ticketId).ifPresent(target ->
+                    checkInCounterService.recordAdmission(target.getEventId(), target.getTicketTypeId(), gate));
+        } else {
+            ticketValidation.setStatus(TicketValidationStatusEnum.INVALID);
+        }
 
         return ticketValidationRepository.save(ticketValidation);
     }
 
     @Override
-    public TicketValidation validateTicketManually(UUID ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId).orElseThrow(TicketNotFoundException::new);
+    public TicketValidation validateTicketManually(UUID ticketId, String gate) {
+        if (!ticketRepository.existsById(ticketId)) {
+            throw new TicketNotFoundException();
+        }
+
+        return validateTicket(ticketId, TicketValidationMethod.MANUAL, gate);
+    }
+
+    @Override
+    public List<TicketValidation> validateTickets(List<TicketValidationRequest> requests) {
+        List<TicketValidationRequest> resolved = requests.stream()
+                .map(request -> resolvePayload(qrCodePayloadCodec, request))
+                .toList();
+
+        Set<UUID> qrCodeIds = new HashSet<>();
+        Set<UUID> ticketIds = new HashSet<>();
+        for (TicketValidationRequest request : resolved) {
+            if (request != null) {
+                (isManual(request) ? ticketIds : qrCodeIds).add(request.getId());
+            }
+        }
+
+        Map<UUID, UUID> ticketIdsByQrCode = qrCodeIds.isEmpty() ? Map.of() : qrCodeRepository
+                .findTicketIdsByIdInAndStatus(qrCodeIds, QrCodeStatusEnum.ACTIVE).stream()
+                .collect(Collectors.toMap(QrCodeTicketId::getQrCodeId, QrCodeTicketId::getTicketId));
+        ticketIds.addAll(ticketIdsByQrCode.values());
+
+        // Locked so concurrent batches and single scans cannot both admit the same ticket
+        Map<UUID, Ticket> tickets = ticketIds.isEmpty() ? Map.of() : ticketRepository
+                .findAllByIdInWithLock(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        Set<UUID> admitted = tickets.values().stream()
+                .filter(ticket -> ticket.getFirstValidatedAt() != null)
+                .map(Ticket::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        LocalDateTime scannedAt = LocalDateTime.now();
+        Set<UUID> newlyAdmitted = new HashSet<>();
+        List<TicketValidation> results = new ArrayList<>(requests.size());
+        List<TicketValidation> created = new ArrayList<>();
+        for (TicketValidationRequest request : resolved) {
+            if (request == null) {
+                results.add(rejectedValidation(TicketValidationMethod.QR_SCAN));
+                continue;
+            }
+            TicketValidationMethod method = isManual(request) ? TicketValidationMethod.MANUAL : TicketValidationMethod.QR_SCAN;
+            UUID ticketId = isManual(request) ? request.getId() : ticketIdsByQrCode.get(request.getId());
+            Ticket ticket = ticketId == null ? null : tickets.get(ticketId);
+            if (ticket == null) {
+                results.add(rejectedValidation(method));
+                continue;
+            }
+
+            TicketValidation validation = new TicketValidation();
+            validation.setTicket(ticket);
+            validation.setValidationMethod(method);
+            validation.setScannedAt(scannedAt);
+            validation.setGate(request.getGate());
+            // Only the first scan of a ticket in the batch can be admitted
+            if (admitted.add(ticketId)) {
+                validation.setStatus(TicketValidationStatusEnum.VALID);
+                newlyAdmitted.add(ticketId);
+                TicketType ticketType = ticket.getTicketType();
+                checkInCounterService.recordAdmission(ticketType.getEvent().getId(), ticketType.getId(), request.getGate());
+            } else {
+                validation.setStatus(TicketValidationStatusEnum.INVALID);
+            }
+            created.add(validation);
+            results.add(validation);
+        }
+
+        if (!newlyAdmitted.isEmpty()) {
+            ticketRepository.markFirstValidated(newlyAdmitted, scannedAt);
+        }
+        ticketValidationRepository.saveAll(created);
+        return results;
+    }
+
+    // Replaces a QR payload with the QR code id it carries; null when the payload is rejected.
+    // A scan carrying only an id is an unsigned payload and goes through the codec like any other
+    static TicketValidationRequest resolvePayload(QrCodePayloadCodec qrCodePayloadCodec, TicketValidationRequest request) {
+        if (request.getPayload() == null && isManual(request)) {
+            return request;
+        }
+        String payload = request.getPayload() != null ? request.getPayload() : Objects.toString(request.getId(), null);
+        return qrCodePayloadCodec.decode(payload)
+                .filter(qrCodePayload -> qrCodePayload.isFor(request.getEventId()))
+                .map(qrCodePayload -> new TicketValidationRequest(
+                        qrCodePayload.getQrCodeId(), TicketValidationMethod.QR_SCAN, null, null, request.getGate()))
+                .orElse(null);
+    }
+
+    private static boolean isManual(TicketValidationRequest request) {
+        return TicketValidationMethod.MANUAL.equals(request.getMethod());
+    }
+
+    // Unknown, inactive, forged or foreign codes are reported back but not recorded
+    static TicketValidation rejectedValidation(TicketValidationMethod method) {
+        TicketValidation rejected = new TicketValidation();
+        rejected.setValidationMethod(method);
+        rejected.setStatus(TicketValidationStatusEnum.INVALID);
+        return rejected;
+    }
+
+    @Override
+    public TicketManifest getTicketManifest(UUID eventId, Long sinceVersion) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new EventNotFoundException(String.format("Event with ID '%s' not found", eventId));
+        }
+
+        // Read before the IDs: anything changing in between is simply sent again in the next delta
+        LocalDateTime latestUpdate = qrCodeRepository.findLatestUpdateByEventId(eventId);
+        long version = latestUpdate == null ? 0 : latestUpdate.toInstant(ZoneOffset.UTC).toEpochMilli();
+
+        if (sinceVersion == null) {
+            List<UUID> active = new ArrayList<>(qrCodeRepository.findIdsByEventIdAndStatus(eventId, QrCodeStatusEnum.ACTIVE));
+            active.sort(MANIFEST_ORDER);
+            return new TicketManifest(version, null, active, List.of());
+        }
+
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(sinceVersion), ZoneOffset.UTC)
+                .minus(MANIFEST_DELTA_OVERLAP);
+        List<UUID> active = new ArrayList<>();
+        List<UUID> revoked = new ArrayList<>();
+        for (QrCodeManifestEntry entry : qrCodeRepository.findManifestEntriesUpdatedSince(eventId, since)) {
+            (entry.getStatus() == QrCodeStatusEnum.ACTIVE ? active : revoked).add(entry.getId());
+        }
+        active.sort(MANIFEST_ORDER);
+        revoked.sort(MANIFEST_ORDER);
+        return new TicketManifest(version, sinceVersion, active, revoked);
+    }
+
+    @Override
+    public List<TicketValidation> syncOfflineValidations(OfflineTicketValidationBatch batch) {
+        Set<UUID> qrCodeIds = batch.getScans().stream()
+                .map(OfflineTicketScan::getQrCodeId)
+                .collect(Collectors.toSet());
+        Map<UUID, QrCode> qrCodes = qrCodeRepository.findWithTicketByIdIn(qrCodeIds).stream()
+                .filter(qrCode -> qrCode.getStatus() == QrCodeStatusEnum.ACTIVE)
+                .filter(qrCode -> batch.getEventId().equals(qrCode.getTicket().getTicketType().getEvent().getId()))
+                .collect(Collectors.toMap(QrCode::getId, Function.identity()));
+
+        Set<UUID> ticketIds = qrCodes.values().stream()
+                .map(qrCode -> qrCode.getTicket().getId())
+                .collect(Collectors.toSet());
+        Map<UUID, List<TicketValidation>> history = new HashMap<>();
+        if (!ticketIds.isEmpty()) {
+            // Serializes uploads from different scanners that saw the same ticket
+            ticketRepository.findAllByIdInWithLock(ticketIds);
+            history.putAll(ticketValidationRepository.findByTicketIdIn(ticketIds).stream()
+                    .collect(Collectors.groupingBy(v -> v.getTicket().getId())));
+        }
+
+        List<TicketValidation> results = new ArrayList<>(batch.getScans().size());
+        List<TicketValidation> created = new ArrayList<>();
+        Set<UUID> touchedTickets = new HashSet<>();
+
+        for (OfflineTicketScan scan : batch.getScans()) {
+            QrCode qrCode = qrCodes.get(scan.getQrCodeId());
+            if (qrCode == null) {
+                // Includes codes issued for another event
+                results.add(rejectedValidation(TicketValidationMethod.QR_SCAN));
+                continue;
+            }
+
+            Ticket ticket = qrCode.getTicket();
+            // Truncated to the precision the database keeps, so re-uploads compare equal
+            LocalDateTime scannedAt = scan.getScannedAt().truncatedTo(ChronoUnit.MICROS);
+            List<TicketValidation> validations = history.computeIfAbsent(ticket.getId(), id -> new ArrayList<>());
+
+            // A re-uploaded batch returns the records created the first time
+            Optional<TicketValidation> duplicate = validations.stream()
+                    .filter(v -> batch.getDeviceId().equals(v.getDeviceId()) && scannedAt.equals(v.getScannedAt()))
+                    .findFirst();
+            if (duplicate.isPresent()) {
+                results.add(duplicate.get());
+                continue;
+            }
+
+            TicketValidation validation = new TicketValidation();
+            validation.setTicket(ticket);
+            validation.setValidationMethod(TicketValidationMethod.QR_SCAN);
+            validation.setScannedAt(scannedAt);
+            validation.setDeviceId(batch.getDeviceId());
+            validation.setGate(batch.getGate());
+            validations.add(validation);
+            created.add(validation);
+            results.add(validation);
+            touchedTickets.add(ticket.getId());
+        }
+
+        // Re-decide each affected ticket from its whole history so the outcome does not depend on upload order
+        for (UUID ticketId : touchedTickets) {
+            List<TicketValidation> validations = history.get(ticketId);
+            TicketValidation previouslyAdmitted = validations.stream()
+                    .filter(v -> v.getStatus() == TicketValidationStatusEnum.VALID)
+                    .findFirst()
+                    .orElse(null);
+            TicketValidation admitted = Collections.min(validations, SCAN_ORDER);
+            for (TicketValidation validation : validations) {
+                validation.setStatus(validation == admitted
+                        ? TicketValidationStatusEnum.VALID
+                        : TicketValidationStatusEnum.INVALID);
+            }
+            // An earlier offline scan can move the admission time back
+            ticketRepository.updateFirstValidatedAt(ticketId, scannedAt(admitted));
+
+            if (previouslyAdmitted == null) {
+                checkInCounterService.recordAdmission(batch.getEventId(),
+                        admitted.getTicket().getTicketType().getId(), admitted.getGate());
+            } else if (previouslyAdmitted != admitted) {
+                checkInCounterService.reassignAdmission(batch.getEventId(),
+                        previouslyAdmitted.getGate(), admitted.getGate());
+            }
+        }
+
+        ticketValidationRepository.saveAll(created);
+        return results;
+    }
 
-        return validateTicket(ticket, TicketValidationMethod.MANUAL);
+    // Validations recorded before scan times were captured fall back to their creation time
+    private static LocalDateTime scannedAt(TicketValidation validation) {
+        return validation.getScannedAt() != null ? validation.getScannedAt() : validation.getCreatedAt();
     }
 }
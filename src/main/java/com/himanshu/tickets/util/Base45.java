@@ -0,0 +1,79 @@
+package com.himanshu.tickets.util;
+
+import java.util.Arrays;
+
+/**
+ * Base45 as defined in RFC 9285. Its alphabet is exactly the QR code alphanumeric
+ * character set, so encoded data is stored at 5.5 bits per character instead of the
+ * 8 bits byte mode spends on Base64.
+ */
+public final class Base45 {
+
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:".toCharArray();
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    private Base45() {
+    }
+
+    public static String encode(byte[] data) {
+        char[] out = new char[data.length / 2 * 3 + data.length % 2 * 2];
+        int pos = 0;
+        for (int i = 0; i + 1 < data.length; i += 2) {
+            int n = (data[i] & 0xFF) << 8 | (data[i + 1] & 0xFF);
+            out[pos++] = ALPHABET[n % 45];
+            out[pos++] = ALPHABET[n / 45 % 45];
+            out[pos++] = ALPHABET[n / 2025];
+        }
+        if (data.length % 2 == 1) {
+            int n = data[data.length - 1] & 0xFF;
+            out[pos++] = ALPHABET[n % 45];
+            out[pos] = ALPHABET[n / 45];
+        }
+        return new String(out);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the text is not valid Base45
+     */
+    public static byte[] decode(String text) {
+        int length = text.length();
+        if (length % 3 == 1) {
+            throw new IllegalArgumentException("Invalid Base45 length: " + length);
+        }
+        byte[] out = new byte[length / 3 * 2 + (length % 3 == 2 ? 1 : 0)];
+        int pos = 0;
+        for (int i = 0; i < length; i += 3) {
+            if (i + 2 < length) {
+                int n = value(text, i) + value(text, i + 1) * 45 + value(text, i + 2) * 2025;
+                if (n > 0xFFFF) {
+                    throw new IllegalArgumentException("Invalid Base45 group at " + i);
+                }
+                out[pos++] = (byte) (n >>> 8);
+                out[pos++] = (byte) n;
+            } else {
+                int n = value(text, i) + value(text, i + 1) * 45;
+                if (n > 0xFF) {
+                    throw new IllegalArgumentException("Invalid Base45 group at " + i);
+                }
+                out[pos] = (byte) n;
+            }
+        }
+        return out;
+    }
+
+    private static int value(String text, int index) {
+        char c = text.charAt(index);
+        int value = c < VALUES.length ? VALUES[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Invalid Base45 character at " + index);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,54 @@
+package com.himanshu.tickets.util;
+
+import com.himanshu.tickets.domain.KeysetCursor;
+import com.himanshu.tickets.exceptions.InvalidCursorException;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque list cursors: a version byte, the creation time as epoch seconds and nanos, and the row id,
+ * in URL-safe Base64. Clients are meant to pass them back untouched.
+ */
+public final class CursorUtil {
+
+    private static final byte VERSION = 1;
+    private static final int LENGTH = 1 + Long.BYTES + Integer.BYTES + 2 * Long.BYTES;
+
+    private CursorUtil() {
+    }
+
+    public static String encode(KeysetCursor cursor) {
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH);
+        buffer.put(VERSION);
+        buffer.putLong(cursor.getCreatedAt().toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(cursor.getCreatedAt().getNano());
+        buffer.putLong(cursor.getId().getMostSignificantBits());
+        buffer.putLong(cursor.getId().getLeastSignificantBits());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @return the decoded position, or null for a blank cursor, which asks for the first slice
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Base64.getUrlDecoder().decode(cursor));
+            if (buffer.remaining() != LENGTH || buffer.get() != VERSION) {
+                throw new InvalidCursorException("Unrecognised cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new KeysetCursor(createdAt, new UUID(buffer.getLong(), buffer.getLong()));
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException ex) {
+            throw new InvalidCursorException("Unrecognised cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.himanshu.tickets.util;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Encodes a ZXing {@link BitMatrix} straight into a 1-bit grayscale PNG.
+ * <p>
+ * Skips the {@code BufferedImage} and ImageIO round trip: scanlines are packed into a
+ * per-thread buffer and compressed with a per-thread {@link Deflater}, so the returned
+ * array is the only allocation per image once a thread has warmed up.
+ */
+public final class QrCodePngWriter {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int IHDR = 0x49484452;
+    private static final int IDAT = 0x49444154;
+    private static final int IEND = 0x49454E44;
+    private static final int IHDR_LENGTH = 13;
+    // Length, type and CRC around each chunk's data
+    private static final int CHUNK_OVERHEAD = 12;
+
+    private static final ThreadLocal<EncoderState> STATE = ThreadLocal.withInitial(EncoderState::new);
+
+    private QrCodePngWriter() {
+    }
+
+    public static byte[] write(BitMatrix matrix) {
+        return write(matrix, 1);
+    }
+
+    /**
+     * Writes every cell of the matrix as a {@code scale} x {@code scale} block of pixels.
+     */
+    public static byte[] write(BitMatrix matrix, int scale) {
+        int width = matrix.getWidth() * scale;
+        int height = matrix.getHeight() * scale;
+        int rowBytes = (width + 7) >>> 3;
+        EncoderState state = STATE.get();
+
+        byte[] raw = state.raw(height * (rowBytes + 1));
+        int pos = 0;
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            int rowStart = pos;
+            // Filter type None, then 8 pixels per byte, most significant bit first; 1 is white
+            raw[pos++] = 0;
+            for (int x = 0; x < width; x += 8) {
+                int packed = 0;
+                for (int bit = 0; bit < 8; bit++) {
+                    packed <<= 1;
+                    if (x + bit >= width || !matrix.get((x + bit) / scale, y)) {
+                        packed |= 1;
+                    }
+                }
+                raw[pos++] = (byte) packed;
+            }
+            // The other pixel rows of a scaled cell are identical scanlines
+            for (int repeat = 1; repeat < scale; repeat++) {
+                System.arraycopy(raw, rowStart, raw, pos, rowBytes + 1);
+                pos += rowBytes + 1;
+            }
+        }
+
+        int compressedLength = state.deflate(raw, pos);
+
+        byte[] png = new byte[SIGNATURE.length + CHUNK_OVERHEAD * 3 + IHDR_LENGTH + compressedLength];
+        System.arraycopy(SIGNATURE, 0, png, 0, SIGNATURE.length);
+        int offset = SIGNATURE.length;
+
+        byte[] header = state.header;
+        putInt(header, 0, width);
+        putInt(header, 4, height);
+        header[8] = 1;  // bit depth
+        header[9] = 0;  // color type: grayscale
+        header[10] = 0; // compression: deflate
+        header[11] = 0; // filter method
+        header[12] = 0; // no interlace
+        offset = writeChunk(png, offset, IHDR, header, IHDR_LENGTH, state.crc);
+        offset = writeChunk(png, offset, IDAT, state.compressed, compressedLength, state.crc);
+        writeChunk(png, offset, IEND, header, 0, state.crc);
+        return png;
+    }
+
+    private static int writeChunk(byte[] png, int offset, int type, byte[] data, int length, CRC32 crc) {
+        putInt(png, offset, length);
+        putInt(png, offset + 4, type);
+        System.arraycopy(data, 0, png, offset + 8, length);
+        crc.reset();
+        crc.update(png, offset + 4, length + 4);
+        putInt(png, offset + 8 + length, (int) crc.getValue());
+        return offset + CHUNK_OVERHEAD + length;
+    }
+
+    private static void putInt(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) (value >>> 24);
+        buffer[offset + 1] = (byte) (value >>> 16);
+        buffer[offset + 2] = (byte) (value >>> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    private static final class EncoderState {
+
+        private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        private final CRC32 crc = new CRC32();
+        private final byte[] header = new byte[IHDR_LENGTH];
+        private byte[] raw = new byte[0];
+        private byte[] compressed = new byte[4096];
+
+        private byte[] raw(int length) {
+            if (raw.length < length) {
+                raw = new byte[length];
+            }
+            return raw;
+        }
+
+        private int deflate(byte[] input, int length) {
+            deflater.reset();
+            deflater.setInput(input, 0, length);
+            deflater.finish();
+            int written = 0;
+            while (!deflater.finished()) {
+                if (written == compressed.length) {
+                    byte[] grown = new byte[compressed.length * 2];
+                    System.arraycopy(compressed, 0, grown, 0, written);
+                    compressed = grown;
+                }
+                written += deflater.deflate(compressed, written, compressed.length - written);
+            }
+            return written;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.himanshu.tickets.util;
+
+import com.himanshu.tickets.domain.TicketManifest;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Binary layout of the offline scanner manifest, all integers big-endian:
+ * <pre>
+ * magic     4 bytes   "TFM1"
+ * kind      1 byte    0 = full manifest, 1 = delta
+ * version   8 bytes   pass back as sinceVersion to fetch the next delta
+ * since     8 bytes   version the delta applies to, 0 for a full manifest
+ * active    4 bytes   count, then 16 bytes per QR code id
+ * revoked   4 bytes   count, then 16 bytes per QR code id
+ * </pre>
+ * Each id is written as its most then least significant long, and both lists are
+ * sorted as unsigned 128-bit integers so scanners can binary-search them in place.
+ * A full manifest replaces the local set; a delta adds the active and removes the revoked ids.
+ */
+public final class TicketManifestWriter {
+
+    private static final byte[] MAGIC = "TFM1".getBytes(StandardCharsets.US_ASCII);
+    private static final int UUID_BYTES = 16;
+    private static final int HEADER_BYTES = MAGIC.length + 1 + Long.BYTES * 2 + Integer.BYTES * 2;
+
+    private TicketManifestWriter() {
+    }
+
+    public static byte[] write(TicketManifest manifest) {
+        List<UUID> active = manifest.getActiveQrCodeIds();
+        List<UUID> revoked = manifest.getRevokedQrCodeIds();
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + (active.size() + revoked.size()) * UUID_BYTES);
+        buffer.put(MAGIC);
+        buffer.put((byte) (manifest.isDelta() ? 1 : 0));
+        buffer.putLong(manifest.getVersion());
+        buffer.putLong(manifest.isDelta() ? manifest.getSinceVersion() : 0);
+        putIds(buffer, active);
+        putIds(buffer, revoked);
+        return buffer.array();
+    }
+
+    private static void putIds(ByteBuffer buffer, List<UUID> ids) {
+        buffer.putInt(ids.size());
+        for (UUID id : ids) {
+            buffer.putLong(id.getMostSignificantBits());
+            buffer.putLong(id.getLeastSignificantBits());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.himanshu.tickets;
+
+import com.himanshu.tickets.domain.CreateEventRequest;
+import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.EventStatusEnum;
+import com.himanshu.tickets.domain.entities.User;
+import com.himanshu.tickets.repositories.UserRepository;
+import com.himanshu.tickets.services.EventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Users and published events for integration tests, created through the same services the API uses.
+ * Events run for four hours from their start and have a single General Admission ticket type unless
+ * ticket types are given.
+ */
+@Component
+@RequiredArgsConstructor
+public class TestFixtures {
+
+    private final UserRepository userRepository;
+    private final EventService eventService;
+
+    public UUID createUser() {
+        return createUser("user");
+    }
+
+    public UUID createUser(String name) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setName(name);
+        user.setEmail("user@example.com");
+        return userRepository.save(user).getId();
+    }
+
+    public Event createEvent(String name, LocalDateTime start, CreateTicketTypeRequest... ticketTypes) {
+        return createEvent(createUser(), name, start, ticketTypes);
+    }
+
+    public Event createEvent(UUID organizerId, String name, LocalDateTime start, CreateTicketTypeRequest... ticketTypes) {
+        return eventService.createEvent(organizerId, eventRequest(name, start, ticketTypes));
+    }
+
+    public static CreateEventRequest eventRequest(String name, LocalDateTime start, CreateTicketTypeRequest... ticketTypes) {
+        CreateEventRequest request = new CreateEventRequest();
+        request.setName(name);
+        request.setVenue("Main Hall");
+        request.setStart(start);
+        request.setEnd(start.plusHours(4));
+        request.setStatus(EventStatusEnum.PUBLISHED);
+        request.setTicketTypes(ticketTypes.length == 0 ? List.of(generalAdmission(100)) : List.of(ticketTypes));
+        return request;
+    }
+
+    public static CreateTicketTypeRequest generalAdmission(int totalAvailable) {
+        return new CreateTicketTypeRequest("General Admission", 50.0, "Standing", totalAvailable, null, null);
+    }
+}
@@ -0,0 +1,125 @@
+package com.himanshu.tickets.controllers;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.services.TicketTypeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EventControllerTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    private MockMvc mockMvc;
+    private UUID organizer;
+    private UUID eventId;
+
+    @BeforeEach
+    void createEventWithSales() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        organizer = fixtures.createUser("organizer");
+        Event event = fixtures.createEvent(organizer, "Folk Festival", LocalDateTime.of(2030, 6, 1, 12, 0),
+                new CreateTicketTypeRequest("Day Pass", 40.0, "All stages", 10, null, null));
+        eventId = event.getId();
+
+        UUID buyer = fixtures.createUser("Smith, \"Jo\"");
+        for (int i = 0; i < 3; i++) {
+            ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        }
+    }
+
+    @Test
+    void exportStreamsManifestFollowedByEveryQrCode() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/v1/events/{eventId}/qr-codes/export", eventId)
+                        .with(organizer(organizer)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        byte[] zip = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/zip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<String> manifest = new ArrayList<>();
+        List<String> images = new ArrayList<>();
+        try (ZipInputStream entries = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = entries.getNextEntry()) != null) {
+                byte[] content = entries.readAllBytes();
+                if (entry.getName().equals("manifest.csv")) {
+                    manifest.addAll(new String(content, StandardCharsets.UTF_8).lines().toList());
+                } else {
+                    images.add(entry.getName());
+                    assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(content, PNG_SIGNATURE.length));
+                }
+            }
+        }
+
+        assertEquals(4, manifest.size());
+        assertEquals("file,qr_code_id,ticket_id,ticket_type,purchaser_name", manifest.getFirst());
+        assertEquals(images, manifest.stream().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList());
+        manifest.stream().skip(1).forEach(line -> assertTrue(line.endsWith(",Day Pass,\"Smith, \"\"Jo\"\"\"")));
+    }
+
+    @Test
+    void exportOfAnotherOrganizersEventIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/events/{eventId}/qr-codes/export", eventId)
+                        .with(organizer(fixtures.createUser("other organizer"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void exportIsForOrganizersOnly() throws Exception {
+        mockMvc.perform(get("/api/v1/events/{eventId}/qr-codes/export", eventId)
+                        .with(jwt().jwt(token -> token.subject(organizer.toString()))))
+                .andExpect(status().isForbidden());
+    }
+
+    private static RequestPostProcessor organizer(UUID userId) {
+        return jwt().jwt(token -> token.subject(userId.toString()))
+                .authorities(new SimpleGrantedAuthority("ROLE_ORGANIZER"));
+    }
+}
@@ -0,0 +1,209 @@
+package com.himanshu.tickets.controllers;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.config.CacheConfig;
+import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketStatusEnum;
+import com.himanshu.tickets.domain.entities.User;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statements each list and detail endpoint prepares, read from Hibernate statistics. List endpoints are requested
+ * at two page sizes and must cost the same either way; every endpoint stays within a small fixed budget, which
+ * includes the user provisioning lookup made on each authenticated request. Cached responses are evicted before
+ * each request, so the public event pages are counted as served from the database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatementCountTest {
+
+    private static final int EVENTS = 6;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private UUID organizer;
+    private UUID buyer;
+    private UUID eventId;
+    private UUID ticketId;
+
+    @BeforeEach
+    void createEventsAndTickets() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        organizer = fixtures.createUser();
+        buyer = fixtures.createUser();
+        List<UUID> ticketTypeIds = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = fixtures.createEvent(organizer, "Night " + i, LocalDateTime.of(2030, 10, 1, 21, 0),
+                    new CreateTicketTypeRequest("Early Bird", 15.0, "First release", 100, null, null),
+                    new CreateTicketTypeRequest("Standard", 20.0, "General release", 100, null, null));
+            event.getTicketTypes().forEach(ticketType -> ticketTypeIds.add(ticketType.getId()));
+            eventId = event.getId();
+        }
+
+        // Saved directly, so no QR code work runs in the background while statements are counted
+        ticketId = new TransactionTemplate(transactionManager).execute(status -> {
+            User purchaser = userRepository.getReferenceById(buyer);
+            List<Ticket> tickets = new ArrayList<>();
+            for (UUID ticketTypeId : ticketTypeIds) {
+                Ticket ticket = new Ticket();
+                ticket.setStatus(TicketStatusEnum.PURCHASED);
+                ticket.setTicketType(ticketTypeRepository.getReferenceById(ticketTypeId));
+                ticket.setPurchaser(purchaser);
+                tickets.add(ticket);
+            }
+            return ticketRepository.saveAll(tickets).getFirst().getId();
+        });
+    }
+
+    @Test
+    void eventListCostIsIndependentOfPageSize() throws Exception {
+        long small = statements(get("/api/v1/events").param("size", "2").with(organizer(organizer)));
+        long large = statements(get("/api/v1/events").param("size", "5").with(organizer(organizer)));
+
+        assertEquals(small, large);
+        assertTrue(large <= 4, "events page ran " + large + " statements");
+    }
+
+    @Test
+    void eventScrollCostIsIndependentOfSliceSize() throws Exception {
+        long small = statements(get("/api/v1/events").param("cursor", "").param("size", "1").with(organizer(organizer)));
+        long large = statements(get("/api/v1/events").param("cursor", "").param("size", "5").with(organizer(organizer)));
+
+        assertEquals(small, large);
+        assertTrue(large <= 3, "events slice ran " + large + " statements");
+    }
+
+    @Test
+    void eventDetailsLoadTicketTypesWithTheEvent() throws Exception {
+        long count = statements(get("/api/v1/events/{eventId}", eventId).with(organizer(organizer)));
+
+        assertTrue(count <= 2, "event details ran " + count + " statements");
+    }
+
+    @Test
+    void ticketListCostIsIndependentOfPageSize() throws Exception {
+        long small = statements(get("/api/v1/tickets").param("size", "2").with(attendee(buyer)));
+        long large = statements(get("/api/v1/tickets").param("size", "10").with(attendee(buyer)));
+
+        assertEquals(small, large);
+        assertTrue(large <= 3, "tickets page ran " + large + " statements");
+    }
+
+    @Test
+    void ticketScrollCostIsIndependentOfSliceSize() throws Exception {
+        long small = statements(get("/api/v1/tickets").param("cursor", "").param("size", "1").with(attendee(buyer)));
+        long large = statements(get("/api/v1/tickets").param("cursor", "").param("size", "10").with(attendee(buyer)));
+
+        assertEquals(small, large);
+        assertTrue(large <= 2, "tickets slice ran " + large + " statements");
+    }
+
+    @Test
+    void ticketDetailsLoadTheirEventWithTheTicket() throws Exception {
+        long count = statements(get("/api/v1/tickets/{ticketId}", ticketId).with(attendee(buyer)));
+
+        assertTrue(count <= 3, "ticket details ran " + count + " statements");
+    }
+
+    @Test
+    void publishedEventListCostIsIndependentOfPageSize() throws Exception {
+        long small = statements(get("/api/v1/published-events").param("size", "2"));
+        long large = statements(get("/api/v1/published-events").param("size", "5"));
+
+        assertEquals(small, large);
+        assertTrue(large <= 2, "published events page ran " + large + " statements");
+    }
+
+    @Test
+    void publishedEventScrollCostIsIndependentOfSliceSize() throws Exception {
+        long small = statements(get("/api/v1/published-events").param("cursor", "").param("size", "1"));
+        long large = statements(get("/api/v1/published-events").param("cursor", "").param("size", "5"));
+
+        assertEquals(small, large);
+        assertTrue(large <= 1, "published events slice ran " + large + " statements");
+    }
+
+    @Test
+    void publishedEventDetailsLoadTicketTypesWithTheEvent() throws Exception {
+        long count = statements(get("/api/v1/published-events/{eventId}", eventId));
+
+        assertTrue(count <= 1, "published event details ran " + count + " statements");
+    }
+
+    private long statements(RequestBuilder request) throws Exception {
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.PUBLISHED_EVENT_PAGES)).clear();
+        Objects.requireNonNull(cacheManager.getCache(CacheConfig.PUBLISHED_EVENT_DETAILS)).clear();
+        statistics.clear();
+        mockMvc.perform(request).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static RequestPostProcessor organizer(UUID userId) {
+        return jwt().jwt(token -> token.subject(userId.toString()))
+                .authorities(new SimpleGrantedAuthority("ROLE_ORGANIZER"));
+    }
+
+    private static RequestPostProcessor attendee(UUID userId) {
+        return jwt().jwt(token -> token.subject(userId.toString()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.himanshu.tickets.controllers;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.services.QrCodeService;
+import com.himanshu.tickets.services.TicketTypeService;
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+    private UUID buyer;
+    private UUID ticketTypeId;
+    private UUID ticketId;
+
+    @BeforeEach
+    void purchaseTicket() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+
+        Event event = fixtures.createEvent("Jazz Night", LocalDateTime.of(2030, 8, 1, 20, 0),
+                TestFixtures.generalAdmission(10));
+
+        buyer = fixtures.createUser();
+        ticketTypeId = event.getTicketTypes().getFirst().getId();
+        ticketId = ticketTypeService.purchaseTicket(buyer, ticketTypeId).getId();
+    }
+
+    @Test
+    void ticketIsRevalidatedAgainstItsETag() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId).with(attendee(buyer)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId).with(attendee(buyer))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void qrCodeIsNotResentWhileUnchanged() throws Exception {
+        double hitsBefore = hits("qr-code");
+        String eTag = mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId).with(attendee(buyer)))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "image/png"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId).with(attendee(buyer))
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+
+        assertEquals(hitsBefore + 1, hits("qr-code"));
+    }
+
+    @Test
+    void qrCodeIsResentOnceRenderSettingsChange() throws Exception {
+        String eTag = mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId).with(attendee(buyer)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String renderVersion = qrCodeService.getQrCodeRenderVersion();
+        assertNotNull(eTag);
+        assertTrue(eTag.contains(renderVersion));
+
+        // As cached by a client before the signing key was rotated
+        String staleETag = eTag.replace(renderVersion, "k0-base64-h-m0");
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}/qr-codes", ticketId).with(attendee(buyer))
+                        .header(HttpHeaders.IF_NONE_MATCH, staleETag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    void ticketOfAnotherAttendeeIsNotFound() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets/{ticketId}", ticketId).with(attendee(fixtures.createUser())))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void ticketsAreScrolledWithACursorUntilExhausted() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        }
+
+        Set<String> seen = new HashSet<>();
+        String cursor = "";
+        int slices = 0;
+        while (cursor != null) {
+            String body = mockMvc.perform(get("/api/v1/tickets").param("cursor", cursor).param("size", "2")
+                            .with(attendee(buyer)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            List<String> ids = JsonPath.read(body, "$.content[*].id");
+            seen.addAll(ids);
+            cursor = JsonPath.read(body, "$.nextCursor");
+            slices++;
+        }
+
+        assertEquals(5, seen.size());
+        assertEquals(3, slices);
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        mockMvc.perform(get("/api/v1/tickets").param("cursor", "bogus").with(attendee(buyer)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private double hits(String resource) {
+        return meterRegistry.counter("tickets.http.cache.requests", "resource", resource, "result", "hit").count();
+    }
+
+    private static RequestPostProcessor attendee(UUID userId) {
+        return jwt().jwt(token -> token.subject(userId.toString()));
+    }
+}
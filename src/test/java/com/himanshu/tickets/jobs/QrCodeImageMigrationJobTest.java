@@ -0,0 +1,115 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.QrCode;
+import com.himanshu.tickets.domain.entities.QrCodeRenderJob;
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketStatusEnum;
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QrCodeImageMigrationJobTest {
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private QrCodeRenderJobRepository qrCodeRenderJobRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void legacyValuesAreConvertedAcrossSeveralBatches() {
+        List<byte[]> images = IntStream.range(0, 5)
+                .mapToObj(i -> new byte[]{(byte) 0x89, 'P', 'N', 'G', (byte) i})
+                .toList();
+        List<UUID> qrCodeIds = createLegacyQrCodes(images.stream()
+                .map(Base64.getEncoder()::encodeToString)
+                .toList());
+        QrCodeImageMigrationJob job = newJob(2);
+
+        job.migrate();
+
+        for (int i = 0; i < qrCodeIds.size(); i++) {
+            QrCode qrCode = qrCodeRepository.findById(qrCodeIds.get(i)).orElseThrow();
+            assertArrayEquals(images.get(i), qrCode.getImage());
+            assertNull(qrCode.getValue());
+        }
+        assertTrue(qrCodeRepository.findLegacyImages(PageRequest.of(0, 1)).isEmpty());
+    }
+
+    @Test
+    void invalidBase64IsDiscardedAndQueuedForRendering() {
+        UUID qrCodeId = createLegacyQrCodes(List.of("not base64!")).getFirst();
+
+        newJob(10).migrate();
+
+        QrCode qrCode = qrCodeRepository.findById(qrCodeId).orElseThrow();
+        assertNull(qrCode.getImage());
+        assertNull(qrCode.getValue());
+        assertTrue(qrCodeRenderJobRepository.findAll().stream()
+                .map(QrCodeRenderJob::getQrCodeId)
+                .anyMatch(qrCodeId::equals));
+    }
+
+    // The application's own job went idle at startup with nothing to migrate, so each test gets a fresh one
+    private QrCodeImageMigrationJob newJob(int batchSize) {
+        return new QrCodeImageMigrationJob(qrCodeRepository, qrCodeRenderJobRepository, transactionManager, batchSize);
+    }
+
+    private List<UUID> createLegacyQrCodes(List<String> values) {
+        Event event = fixtures.createEvent("Legacy Night", LocalDateTime.of(2030, 11, 1, 19, 0));
+        UUID holder = fixtures.createUser();
+        return new TransactionTemplate(transactionManager).execute(status -> values.stream()
+                .map(value -> {
+                    Ticket ticket = new Ticket();
+                    ticket.setStatus(TicketStatusEnum.PURCHASED);
+                    ticket.setTicketType(ticketTypeRepository.getReferenceById(event.getTicketTypes().getFirst().getId()));
+                    ticket.setPurchaser(userRepository.getReferenceById(holder));
+                    QrCode qrCode = new QrCode();
+                    qrCode.setId(UUID.randomUUID());
+                    qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+                    qrCode.setTicket(ticketRepository.save(ticket));
+                    qrCode.setValue(value);
+                    return qrCodeRepository.save(qrCode).getId();
+                })
+                .toList());
+    }
+}
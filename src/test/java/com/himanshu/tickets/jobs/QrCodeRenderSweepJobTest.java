@@ -0,0 +1,87 @@
+package com.himanshu.tickets.jobs;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.QrCode;
+import com.himanshu.tickets.domain.entities.QrCodeRenderJob;
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketStatusEnum;
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest(properties = "tickets.qr-code.render.sweep-grace-period=0s")
+@ActiveProfiles("test")
+class QrCodeRenderSweepJobTest {
+
+    @Autowired
+    private QrCodeRenderSweepJob qrCodeRenderSweepJob;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private QrCodeRenderJobRepository qrCodeRenderJobRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void sweepRendersJobsThePipelineNeverReceived() throws InterruptedException {
+        Event event = fixtures.createEvent("Late Show", LocalDateTime.of(2030, 12, 1, 20, 0));
+        UUID holder = fixtures.createUser();
+        // As left by a restart between commit and render: a pending row and its job, never submitted
+        UUID qrCodeId = new TransactionTemplate(transactionManager).execute(status -> {
+            Ticket ticket = new Ticket();
+            ticket.setStatus(TicketStatusEnum.PURCHASED);
+            ticket.setTicketType(ticketTypeRepository.getReferenceById(event.getTicketTypes().getFirst().getId()));
+            ticket.setPurchaser(userRepository.getReferenceById(holder));
+            QrCode qrCode = new QrCode();
+            qrCode.setId(UUID.randomUUID());
+            qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+            qrCode.setTicket(ticketRepository.save(ticket));
+            UUID id = qrCodeRepository.save(qrCode).getId();
+            qrCodeRenderJobRepository.save(QrCodeRenderJob.builder().qrCodeId(id).build());
+            return id;
+        });
+
+        qrCodeRenderSweepJob.sweep();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (qrCodeRepository.findById(qrCodeId).orElseThrow().getImage() == null) {
+            if (System.nanoTime() > deadline) {
+                fail("QR code " + qrCodeId + " was not rendered by the sweep");
+            }
+            Thread.sleep(50);
+        }
+        assertTrue(qrCodeRenderJobRepository.findAll().stream().noneMatch(job -> job.getQrCodeId().equals(qrCodeId)));
+    }
+}
@@ -0,0 +1,215 @@
+package com.himanshu.tickets.load;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Flash-sale simulation against the full HTTP stack with H2 standing in for Postgres
+ * and a stub JWT decoder standing in for Keycloak. Excluded from the default build;
+ * run with {@code mvn -P load-tests test}. Sizing is read from system properties:
+ * {@code load.buyers}, {@code load.concurrency}, {@code load.totalAvailable},
+ * {@code load.inventoryMode} and {@code load.inventoryBucketCount}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@Slf4j
+class FlashSaleLoadTest {
+
+    private static final String SOLD_OUT = "sold out";
+    private static final long[] LATENCY_BUCKETS_MS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    @TestConfiguration
+    static class StubJwtConfig {
+
+        // The bearer token is the user id, so every simulated buyer is a distinct purchaser
+        @Bean
+        JwtDecoder jwtDecoder() {
+            return token -> Jwt.withTokenValue(token)
+                    .header("alg", "none")
+                    .subject(token)
+                    .claim("preferred_username", "buyer-" + token)
+                    .claim("email", token + "@example.com")
+                    .issuedAt(Instant.now())
+                    .expiresAt(Instant.now().plusSeconds(300))
+                    .build();
+        }
+    }
+
+    @Value("${local.server.port}")
+    private int port;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void flashSaleNeverOversells() throws Exception {
+        int buyers = Integer.getInteger("load.buyers", 5000);
+        int concurrency = Integer.getInteger("load.concurrency", 1000);
+        int totalAvailable = Integer.getInteger("load.totalAvailable", 500);
+        TicketInventoryModeEnum inventoryMode = TicketInventoryModeEnum.valueOf(
+                System.getProperty("load.inventoryMode", TicketInventoryModeEnum.COUNTER.name()));
+        Integer inventoryBucketCount = Integer.getInteger("load.inventoryBucketCount");
+
+        Event event = fixtures.createEvent("Flash Sale", LocalDateTime.now().plusDays(30), new CreateTicketTypeRequest(
+                "General Admission", 50.0, "Standing", totalAvailable, inventoryMode, inventoryBucketCount));
+        UUID ticketTypeId = event.getTicketTypes().getFirst().getId();
+        URI purchaseUri = URI.create(String.format("http://localhost:%d/api/v1/events/%s/ticket-types/%s/tickets",
+                port, event.getId(), ticketTypeId));
+
+        long[] latenciesNanos = new long[buyers];
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        Semaphore inFlight = new Semaphore(concurrency);
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsedNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient client = HttpClient.newBuilder().executor(executor).build()) {
+            for (int i = 0; i < buyers; i++) {
+                int buyer = i;
+                executor.submit(() -> {
+                    start.await();
+                    inFlight.acquire();
+                    long begin = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(HttpRequest.newBuilder(purchaseUri)
+                                .header("Authorization", "Bearer " + UUID.randomUUID())
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .timeout(Duration.ofSeconds(60))
+                                .build(), HttpResponse.BodyHandlers.ofString());
+                        outcomes.computeIfAbsent(classify(response), k -> new LongAdder()).increment();
+                    } catch (Exception ex) {
+                        outcomes.computeIfAbsent(ex.getClass().getSimpleName(), k -> new LongAdder()).increment();
+                    } finally {
+                        latenciesNanos[buyer] = System.nanoTime() - begin;
+                        inFlight.release();
+                    }
+                    return null;
+                });
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.MINUTES), "load run did not finish");
+            elapsedNanos = System.nanoTime() - begin;
+        }
+
+        long purchased = count(outcomes, "purchased");
+        long sold = ticketRepository.countByTicketTypeId(ticketTypeId);
+        report(buyers, concurrency, inventoryMode, elapsedNanos, latenciesNanos, outcomes, sold, totalAvailable);
+
+        assertTrue(sold <= totalAvailable, "oversold: " + sold + " tickets for " + totalAvailable + " seats");
+        assertEquals(purchased, sold);
+        assertEquals(Math.min(buyers, totalAvailable), sold);
+        assertEquals(buyers - sold, count(outcomes, SOLD_OUT));
+        if (inventoryMode == TicketInventoryModeEnum.COUNTER) {
+            assertEquals(sold, ticketTypeRepository.findSoldById(ticketTypeId).longValue());
+        }
+    }
+
+    private static String classify(HttpResponse<String> response) {
+        if (response.statusCode() == 204) {
+            return "purchased";
+        }
+        if (response.statusCode() == 400 && response.body().contains(SOLD_OUT)) {
+            return SOLD_OUT;
+        }
+        return "HTTP " + response.statusCode();
+    }
+
+    private static long count(Map<String, LongAdder> outcomes, String outcome) {
+        LongAdder adder = outcomes.get(outcome);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private void report(int buyers, int concurrency, TicketInventoryModeEnum inventoryMode, long elapsedNanos,
+                        long[] latenciesNanos, Map<String, LongAdder> outcomes, long sold, int totalAvailable) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        double seconds = elapsedNanos / 1e9;
+
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%n=== Flash sale: %d buyers, %d concurrent, %d seats, %s inventory ===%n",
+                buyers, concurrency, totalAvailable, inventoryMode));
+        out.append(String.format("Elapsed %.2fs, throughput %.0f req/s%n", seconds, buyers / seconds));
+        out.append(String.format("Latency ms: p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.90), percentileMillis(sorted, 0.99),
+                percentileMillis(sorted, 0.999), sorted[sorted.length - 1] / 1e6));
+
+        out.append("Latency histogram:\n");
+        int index = 0;
+        for (long bucket : LATENCY_BUCKETS_MS) {
+            int from = index;
+            while (index < sorted.length && sorted[index] <= TimeUnit.MILLISECONDS.toNanos(bucket)) {
+                index++;
+            }
+            out.append(String.format("  <= %5d ms  %d%n", bucket, index - from));
+        }
+        out.append(String.format("   > %5d ms  %d%n", LATENCY_BUCKETS_MS[LATENCY_BUCKETS_MS.length - 1], sorted.length - index));
+
+        out.append("Inventory reservation (includes row lock wait):\n");
+        for (Timer timer : meterRegistry.find("tickets.inventory.reservation").timers()) {
+            out.append(String.format("  %-8s count %d  mean %.2f ms  max %.2f ms%n",
+                    timer.getId().getTag("outcome"), timer.count(),
+                    timer.mean(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS)));
+        }
+
+        out.append("Outcomes:\n");
+        new TreeMap<>(outcomes).forEach((outcome, n) -> out.append(String.format("  %-12s %d%n", outcome, n.sum())));
+        out.append(String.format("Tickets sold %d of %d%n", sold, totalAvailable));
+        log.info("Flash sale report:{}", out);
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,123 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.CheckInSnapshot;
+import com.himanshu.tickets.domain.OfflineTicketScan;
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketValidation;
+import com.himanshu.tickets.domain.entities.TicketValidationMethod;
+import com.himanshu.tickets.exceptions.EventNotFoundException;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.CheckInCounterService;
+import com.himanshu.tickets.services.TicketTypeService;
+import com.himanshu.tickets.services.TicketValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CheckInCounterServiceImplTest {
+
+    private static final LocalDateTime DOORS_OPEN = LocalDateTime.of(2030, 7, 1, 18, 0);
+
+    @Autowired
+    private CheckInCounterService checkInCounterService;
+
+    @Autowired
+    private TicketValidationService ticketValidationService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private TicketValidationRepository ticketValidationRepository;
+
+    private Event event;
+    private UUID ticketTypeId;
+
+    @BeforeEach
+    void createEvent() {
+        event = fixtures.createEvent("Arena Tour", DOORS_OPEN, TestFixtures.generalAdmission(10));
+        ticketTypeId = event.getTicketTypes().getFirst().getId();
+    }
+
+    @Test
+    void eachTicketIsCountedOnceWhateverTheScanPath() {
+        UUID firstQrCode = purchaseQrCode();
+        UUID secondQrCode = purchaseQrCode();
+
+        ticketValidationService.validateTicketByQrCode(firstQrCode, null);
+        ticketValidationService.validateTicketByQrCode(firstQrCode, null);
+        ticketValidationService.syncOfflineValidations(new OfflineTicketValidationBatch(event.getId(), "gate-a-1", "North",
+                List.of(new OfflineTicketScan(secondQrCode, DOORS_OPEN))));
+
+        CheckInSnapshot snapshot = checkInCounterService.getSnapshot(event.getId());
+        assertEquals(2, snapshot.getAdmitted());
+        assertEquals(Map.of(ticketTypeId, 2L), snapshot.getAdmittedByTicketType());
+        assertEquals(Map.of("North", 1L), snapshot.getAdmittedByGate());
+    }
+
+    @Test
+    void liveScansAreCountedAgainstTheirGate() {
+        UUID singleQrCode = purchaseQrCode();
+        UUID batchQrCode = purchaseQrCode();
+        checkInCounterService.getSnapshot(event.getId());
+
+        TicketValidation single = ticketValidationService.validateTicketByQrCode(singleQrCode, "East");
+        TicketValidation batched = ticketValidationService.validateTickets(List.of(new TicketValidationRequest(
+                batchQrCode, TicketValidationMethod.QR_SCAN, null, null, "West"))).getFirst();
+
+        assertEquals("East", ticketValidationRepository.findById(single.getId()).orElseThrow().getGate());
+        assertEquals("West", ticketValidationRepository.findById(batched.getId()).orElseThrow().getGate());
+        assertEquals(Map.of("East", 1L, "West", 1L), checkInCounterService.getSnapshot(event.getId()).getAdmittedByGate());
+    }
+
+    @Test
+    void earlierOfflineScanMovesTheAdmissionToItsGate() {
+        UUID qrCodeId = purchaseQrCode();
+        checkInCounterService.getSnapshot(event.getId());
+
+        ticketValidationService.syncOfflineValidations(new OfflineTicketValidationBatch(event.getId(), "gate-a-1", "North",
+                List.of(new OfflineTicketScan(qrCodeId, DOORS_OPEN.plusMinutes(5)))));
+        long versionBefore = checkInCounterService.getSnapshot(event.getId()).getVersion();
+        ticketValidationService.syncOfflineValidations(new OfflineTicketValidationBatch(event.getId(), "gate-b-1", "South",
+                List.of(new OfflineTicketScan(qrCodeId, DOORS_OPEN.plusMinutes(1)))));
+
+        CheckInSnapshot snapshot = checkInCounterService.getSnapshot(event.getId());
+        assertEquals(1, snapshot.getAdmitted());
+        assertEquals(Map.of("North", 0L, "South", 1L), snapshot.getAdmittedByGate());
+        assertEquals(versionBefore + 1, snapshot.getVersion());
+    }
+
+    @Test
+    void unknownEventIsRejected() {
+        assertThrows(EventNotFoundException.class, () -> checkInCounterService.getSnapshot(UUID.randomUUID()));
+    }
+
+    private UUID purchaseQrCode() {
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        return qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+    }
+}
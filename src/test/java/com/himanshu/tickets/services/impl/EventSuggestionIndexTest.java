@@ -0,0 +1,68 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.EventSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventSuggestionIndexTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    private final EventSuggestionIndex index = new EventSuggestionIndex();
+
+    @Test
+    void nameMatchesComeBeforeVenueMatches() {
+        EventSuggestion atVenue = suggestion("Brass Evening", "Jazz Cellar", UPDATED);
+        EventSuggestion byName = suggestion("Jazz Brunch", "Riverside", UPDATED);
+        index.put(atVenue);
+        index.put(byName);
+
+        assertEquals(List.of(byName, atVenue), index.search("jaz", 10));
+        assertEquals(List.of(byName), index.search("jaz", 1));
+    }
+
+    @Test
+    void everyQueryWordMustStartAWordIgnoringCaseAndAccents() {
+        EventSuggestion cafe = suggestion("Café Sessions", "Old Town Hall", UPDATED);
+        index.put(cafe);
+        index.put(suggestion("Café Quiz", "Harbour", UPDATED));
+
+        assertEquals(List.of(cafe), index.search("CAFE hal", 10));
+        assertTrue(index.search("afe", 10).isEmpty());
+    }
+
+    @Test
+    void updatesReplaceWordsUnlessTheyAreOlder() {
+        EventSuggestion original = suggestion("Winter Gala", "Ballroom", UPDATED);
+        index.put(original);
+        EventSuggestion renamed = new EventSuggestion(original.getId(), "Spring Gala", "Ballroom", null, UPDATED.plusHours(1));
+        index.put(renamed);
+        index.put(original);
+
+        assertTrue(index.search("winter", 10).isEmpty());
+        assertEquals(List.of(renamed), index.search("spring", 10));
+    }
+
+    @Test
+    void removedEventsReleaseTheirFootprint() {
+        EventSuggestion event = suggestion("Folk Night", "Barn", UPDATED);
+        index.put(event);
+        assertTrue(index.estimatedBytes() > 0);
+
+        index.remove(event.getId());
+
+        assertTrue(index.search("folk", 10).isEmpty());
+        assertEquals(0, index.size());
+        assertEquals(0, index.estimatedBytes());
+    }
+
+    private static EventSuggestion suggestion(String name, String venue, LocalDateTime updatedAt) {
+        return new EventSuggestion(UUID.randomUUID(), name, venue, null, updatedAt);
+    }
+}
@@ -0,0 +1,164 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketValidation;
+import com.himanshu.tickets.domain.entities.TicketValidationStatusEnum;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.CheckInCounterService;
+import com.himanshu.tickets.services.TicketTypeService;
+import com.himanshu.tickets.services.TicketValidationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "tickets.validation.engine=in-memory")
+@ActiveProfiles("test")
+class InMemoryTicketValidationServiceImplTest {
+
+    @Autowired
+    private TicketValidationService ticketValidationService;
+
+    @Autowired
+    private InMemoryTicketValidationServiceImpl inMemoryTicketValidationService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketValidationRepository ticketValidationRepository;
+
+    @Autowired
+    private CheckInCounterService checkInCounterService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void scansAreAnsweredFromMemoryAndWrittenBehind() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusHours(1));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+        inMemoryTicketValidationService.refreshLoadedEvents();
+
+        TicketValidation first = ticketValidationService.validateTicketByQrCode(qrCodeId, null);
+        TicketValidation second = ticketValidationService.validateTicketManually(ticket.getId(), null);
+
+        assertEquals(TicketValidationStatusEnum.VALID, first.getStatus());
+        assertEquals(TicketValidationStatusEnum.INVALID, second.getStatus());
+        assertNull(first.getId());
+        assertTrue(ticketValidationRepository.findByTicketIdIn(List.of(ticket.getId())).isEmpty());
+
+        inMemoryTicketValidationService.flushPendingCheckIns();
+
+        assertEquals(2, ticketValidationRepository.findByTicketIdIn(List.of(ticket.getId())).size());
+        assertNotNull(ticketRepository.findById(ticket.getId()).orElseThrow().getFirstValidatedAt());
+    }
+
+    @Test
+    void scanAnsweredFromMemoryIsCountedAndStoredAgainstItsGate() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusHours(1));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+        inMemoryTicketValidationService.loadEvent(event.getId());
+
+        ticketValidationService.validateTicketByQrCode(qrCodeId, "East");
+        inMemoryTicketValidationService.flushPendingCheckIns();
+
+        assertEquals(Map.of("East", 1L), checkInCounterService.getSnapshot(event.getId()).getAdmittedByGate());
+        assertEquals("East", ticketValidationRepository.findByTicketIdIn(List.of(ticket.getId())).getFirst().getGate());
+    }
+
+    @Test
+    void reloadedIndexRemembersPersistedAdmissions() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusHours(1));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+        inMemoryTicketValidationService.loadEvent(event.getId());
+
+        assertEquals(TicketValidationStatusEnum.VALID, ticketValidationService.validateTicketByQrCode(qrCodeId, null).getStatus());
+        inMemoryTicketValidationService.flushPendingCheckIns();
+        inMemoryTicketValidationService.loadEvent(event.getId());
+
+        assertEquals(TicketValidationStatusEnum.INVALID, ticketValidationService.validateTicketByQrCode(qrCodeId, null).getStatus());
+    }
+
+    @Test
+    void admissionRecordedElsewhereBeforeTheFlushIsStoredAsInvalid() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusHours(1));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+        inMemoryTicketValidationService.loadEvent(event.getId());
+
+        assertEquals(TicketValidationStatusEnum.VALID, ticketValidationService.validateTicketByQrCode(qrCodeId, null).getStatus());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                ticketRepository.markFirstValidated(ticket.getId(), LocalDateTime.now().minusMinutes(1)));
+        inMemoryTicketValidationService.flushPendingCheckIns();
+
+        List<TicketValidation> validations = ticketValidationRepository.findByTicketIdIn(List.of(ticket.getId()));
+        assertEquals(1, validations.size());
+        assertEquals(TicketValidationStatusEnum.INVALID, validations.getFirst().getStatus());
+    }
+
+    @Test
+    void unwritableCheckInIsDroppedWithoutHoldingBackItsBatch() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusHours(1));
+        UUID buyer = fixtures.createUser();
+        UUID ticketTypeId = event.getTicketTypes().getFirst().getId();
+        Ticket kept = ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        Ticket deleted = ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        inMemoryTicketValidationService.loadEvent(event.getId());
+
+        ticketValidationService.validateTicketManually(deleted.getId(), null);
+        ticketValidationService.validateTicketManually(kept.getId(), null);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> ticketRepository.deleteById(deleted.getId()));
+
+        assertEquals(2, inMemoryTicketValidationService.flushPendingCheckIns());
+        assertEquals(0, inMemoryTicketValidationService.flushPendingCheckIns());
+        assertEquals(1, ticketValidationRepository.findByTicketIdIn(List.of(kept.getId())).size());
+        assertNotNull(ticketRepository.findById(kept.getId()).orElseThrow().getFirstValidatedAt());
+    }
+
+    @Test
+    void eventsNotYetOpenAreValidatedInTheDatabase() {
+        Event event = fixtures.createEvent("Stadium Night", LocalDateTime.now().plusDays(30));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+        inMemoryTicketValidationService.refreshLoadedEvents();
+
+        TicketValidation validation = ticketValidationService.validateTicketByQrCode(qrCodeId, null);
+
+        assertEquals(TicketValidationStatusEnum.VALID, validation.getStatus());
+        assertNotNull(validation.getId());
+    }
+}
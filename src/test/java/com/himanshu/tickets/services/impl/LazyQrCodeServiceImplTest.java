@@ -0,0 +1,68 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.services.QrCodeService;
+import com.himanshu.tickets.services.TicketTypeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest(properties = "tickets.qr-code.storage=lazy")
+@ActiveProfiles("test")
+class LazyQrCodeServiceImplTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void imageIsRenderedOnFirstReadAndCachedAfterwards() {
+        Event event = fixtures.createEvent("Matinee", LocalDateTime.of(2030, 12, 5, 14, 0));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        double missesBefore = gets("miss");
+        double hitsBefore = gets("hit");
+
+        byte[] first = qrCodeService.getQrCodeImageForUserAndTicket(buyer, ticket.getId());
+        byte[] second = qrCodeService.getQrCodeImageForUserAndTicket(buyer, ticket.getId());
+
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(first, PNG_SIGNATURE.length));
+        assertSame(first, second);
+        assertEquals(missesBefore + 1, gets("miss"));
+        assertEquals(hitsBefore + 1, gets("hit"));
+        // Nothing is written back in lazy mode
+        assertNull(qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getImage());
+    }
+
+    private double gets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "qrCodeImages").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,105 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.CreateEventRequest;
+import com.himanshu.tickets.domain.UpdateEventRequest;
+import com.himanshu.tickets.domain.UpdateTicketTypeRequest;
+import com.himanshu.tickets.domain.dtos.GetEventDetailsResponseDto;
+import com.himanshu.tickets.domain.dtos.ListPublishedEventResponseDto;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.EventStatusEnum;
+import com.himanshu.tickets.domain.entities.TicketType;
+import com.himanshu.tickets.services.EventService;
+import com.himanshu.tickets.services.PublishedEventService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PublishedEventServiceImplTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 7, 1, 19, 0);
+
+    @Autowired
+    private PublishedEventService publishedEventService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void detailsAreServedFromTheCacheUntilTheEventChanges() {
+        UUID organizer = fixtures.createUser();
+        Event event = fixtures.createEvent(organizer, "Harbour Lights", START);
+
+        GetEventDetailsResponseDto first = publishedEventService.getPublishedEventDetails(event.getId()).orElseThrow();
+        assertSame(first, publishedEventService.getPublishedEventDetails(event.getId()).orElseThrow());
+
+        eventService.updateEventForOrganizer(organizer, event.getId(), updateRequest(event, "Harbour Lights II", EventStatusEnum.PUBLISHED));
+
+        GetEventDetailsResponseDto updated = publishedEventService.getPublishedEventDetails(event.getId()).orElseThrow();
+        assertNotSame(first, updated);
+        assertEquals("Harbour Lights II", updated.getName());
+
+        eventService.updateEventForOrganizer(organizer, event.getId(), updateRequest(event, "Harbour Lights II", EventStatusEnum.DRAFT));
+        assertFalse(publishedEventService.getPublishedEventDetails(event.getId()).isPresent());
+    }
+
+    @Test
+    void firstPageIsEvictedWhenAnEventIsCreated() {
+        PageRequest firstPage = PageRequest.of(0, 100);
+        Page<ListPublishedEventResponseDto> before = publishedEventService.listPublishedEvents(firstPage);
+        assertSame(before, publishedEventService.listPublishedEvents(firstPage));
+
+        fixtures.createEvent("Dockside Sessions", START);
+
+        assertEquals(before.getTotalElements() + 1,
+                publishedEventService.listPublishedEvents(firstPage).getTotalElements());
+    }
+
+    @Test
+    void searchRanksNameMatchesAboveVenueMatches() {
+        UUID organizer = fixtures.createUser();
+        CreateEventRequest atVenue = TestFixtures.eventRequest("Brass Evening", START);
+        atVenue.setVenue("Quayside Hall");
+        Event venueMatch = eventService.createEvent(organizer, atVenue);
+        Event nameMatch = fixtures.createEvent(organizer, "Quayside 100% Live", START);
+
+        List<UUID> results = publishedEventService.searchPublishedEvents("quayside", PageRequest.of(0, 10))
+                .map(ListPublishedEventResponseDto::getId)
+                .getContent();
+
+        assertEquals(List.of(nameMatch.getId(), venueMatch.getId()), results);
+        assertEquals(1, publishedEventService.searchPublishedEvents("100%", PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    private static UpdateEventRequest updateRequest(Event event, String name, EventStatusEnum status) {
+        TicketType ticketType = event.getTicketTypes().getFirst();
+        UpdateEventRequest request = new UpdateEventRequest();
+        request.setId(event.getId());
+        request.setName(name);
+        request.setVenue(event.getVenue());
+        request.setStart(event.getStart());
+        request.setEnd(event.getEnd());
+        request.setStatus(status);
+        request.setTicketTypes(List.of(new UpdateTicketTypeRequest(
+                ticketType.getId(), ticketType.getName(), ticketType.getPrice(), ticketType.getDescription(),
+                ticketType.getTotalAvailable(), null, null)));
+        return request;
+    }
+}
@@ -0,0 +1,105 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.domain.QrCodePayload;
+import com.himanshu.tickets.domain.QrCodePayloadFormatEnum;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.entities.TicketValidationMethod;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QrCodePayloadCodecTest {
+
+    private static final String OLD_KEY = "1:Lsvfl2v74VXtJNMhCvPE0E/+uRiJDcceJXE+vkaV2UU=";
+    private static final String NEW_KEY = "2:q8V2m7n8cD0kS1xP3wE4rT5yU6iO7pA8sD9fG0hJ1kM=";
+
+    private final UUID qrCodeId = UUID.randomUUID();
+    private final UUID eventId = UUID.randomUUID();
+
+    @Test
+    void signedPayloadRoundTrips() {
+        QrCodePayloadCodec codec = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64);
+
+        String payload = codec.encode(qrCodeId, eventId);
+
+        assertEquals(56, payload.length());
+        assertEquals(Optional.of(new QrCodePayload(qrCodeId, eventId)), codec.decode(payload));
+    }
+
+    @Test
+    void compactPayloadUsesOnlyQrAlphanumericCharactersAndDecodesEverywhere() {
+        QrCodePayloadCodec compact = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.COMPACT);
+        QrCodePayloadCodec base64 = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64);
+
+        String payload = compact.encode(qrCodeId, eventId);
+
+        assertEquals(63, payload.length());
+        assertTrue(payload.matches("[0-9A-Z $%*+\\-./:]+"));
+        assertEquals(Optional.of(new QrCodePayload(qrCodeId, eventId)), base64.decode(payload));
+        assertEquals(Optional.of(new QrCodePayload(qrCodeId, eventId)), compact.decode(base64.encode(qrCodeId, eventId)));
+    }
+
+    @Test
+    void keyWithoutAnIdIsRejectedWithoutQuotingTheSecret() {
+        String secret = OLD_KEY.substring(2);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> new QrCodePayloadCodec(secret, 1, true, QrCodePayloadFormatEnum.BASE64));
+
+        assertFalse(ex.getMessage().contains(secret));
+        assertNull(ex.getCause());
+    }
+
+    @Test
+    void tamperedOrGarbagePayloadIsRejected() {
+        QrCodePayloadCodec codec = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64);
+        String payload = codec.encode(qrCodeId, eventId);
+        // Swap in another event id while keeping the original tag
+        String foreign = codec.encode(qrCodeId, UUID.randomUUID());
+        String spliced = foreign.substring(0, 45) + payload.substring(45);
+
+        assertTrue(codec.decode(spliced).isEmpty());
+        assertTrue(codec.decode(payload.substring(0, 55) + (payload.endsWith("A") ? "B" : "A")).isEmpty());
+        assertTrue(codec.decode("not a ticket").isEmpty());
+        assertTrue(codec.decode("#".repeat(56)).isEmpty());
+    }
+
+    @Test
+    void payloadsSignedWithARetiredKeyStillVerifyAfterRotation() {
+        String payload = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64).encode(qrCodeId, eventId);
+        QrCodePayloadCodec rotated = new QrCodePayloadCodec(NEW_KEY + "," + OLD_KEY, 2, true, QrCodePayloadFormatEnum.BASE64);
+        QrCodePayloadCodec withoutOldKey = new QrCodePayloadCodec(NEW_KEY, 2, true, QrCodePayloadFormatEnum.BASE64);
+
+        assertEquals(eventId, rotated.decode(payload).orElseThrow().getEventId());
+        assertEquals(eventId, rotated.decode(rotated.encode(qrCodeId, eventId)).orElseThrow().getEventId());
+        assertTrue(withoutOldKey.decode(payload).isEmpty());
+    }
+
+    @Test
+    void unsignedIdsAreOnlyAcceptedWhileEnabled() {
+        QrCodePayload legacy = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64).decode(qrCodeId.toString()).orElseThrow();
+
+        assertEquals(qrCodeId, legacy.getQrCodeId());
+        assertNull(legacy.getEventId());
+        assertTrue(new QrCodePayloadCodec(OLD_KEY, 1, false, QrCodePayloadFormatEnum.BASE64).decode(qrCodeId.toString()).isEmpty());
+    }
+
+    @Test
+    void bareIdScansAreRejectedOnceUnsignedIsOff() {
+        QrCodePayloadCodec signedOnly = new QrCodePayloadCodec(OLD_KEY, 1, false, QrCodePayloadFormatEnum.BASE64);
+        QrCodePayloadCodec lenient = new QrCodePayloadCodec(OLD_KEY, 1, true, QrCodePayloadFormatEnum.BASE64);
+        TicketValidationRequest bareId = new TicketValidationRequest(qrCodeId, TicketValidationMethod.QR_SCAN);
+        TicketValidationRequest manual = new TicketValidationRequest(qrCodeId, TicketValidationMethod.MANUAL);
+
+        assertNull(TicketValidationServiceImpl.resolvePayload(signedOnly, bareId));
+        assertEquals(qrCodeId, TicketValidationServiceImpl.resolvePayload(lenient, bareId).getId());
+        assertEquals(manual, TicketValidationServiceImpl.resolvePayload(signedOnly, manual));
+    }
+}
@@ -0,0 +1,148 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.QrCode;
+import com.himanshu.tickets.domain.entities.QrCodeStatusEnum;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketStatusEnum;
+import com.himanshu.tickets.domain.entities.TicketType;
+import com.himanshu.tickets.domain.entities.User;
+import com.himanshu.tickets.repositories.QrCodeRenderJobRepository;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.repositories.UserRepository;
+import com.himanshu.tickets.services.QrCodeService;
+import com.himanshu.tickets.services.TicketTypeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class QrCodeServiceImplTest {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Autowired
+    private QrCodeService qrCodeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private QrCodeRenderJobRepository qrCodeRenderJobRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void purchasedQrCodeIsRenderedOnceThePurchaseCommits() throws InterruptedException {
+        Event event = fixtures.createEvent("Sponsor Night", LocalDateTime.of(2030, 9, 1, 19, 0));
+        UUID buyer = fixtures.createUser();
+
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        UUID qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticket.getId(), buyer).orElseThrow().getId();
+
+        byte[] image = awaitImage(qrCodeId);
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(image, PNG_SIGNATURE.length));
+        assertTrue(qrCodeRenderJobRepository.findAll().stream().noneMatch(job -> job.getQrCodeId().equals(qrCodeId)));
+    }
+
+    @Test
+    void bulkIssuedQrCodesAreStoredWithTheirImages() {
+        Event event = fixtures.createEvent("Sponsor Night", LocalDateTime.of(2030, 9, 1, 19, 0));
+        UUID holder = fixtures.createUser();
+        long pendingJobs = qrCodeRenderJobRepository.count();
+
+        List<UUID> qrCodeIds = new TransactionTemplate(transactionManager).execute(status -> {
+            TicketType ticketType = ticketTypeRepository.findById(event.getTicketTypes().getFirst().getId()).orElseThrow();
+            User user = userRepository.getReferenceById(holder);
+            List<Ticket> tickets = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                Ticket ticket = new Ticket();
+                ticket.setStatus(TicketStatusEnum.PURCHASED);
+                ticket.setTicketType(ticketType);
+                ticket.setPurchaser(user);
+                tickets.add(ticket);
+            }
+            return qrCodeService.issueQrCodes(ticketRepository.saveAll(tickets)).stream()
+                    .map(QrCode::getId)
+                    .toList();
+        });
+
+        assertEquals(40, qrCodeIds.size());
+        for (QrCode qrCode : qrCodeRepository.findAllById(qrCodeIds)) {
+            assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(qrCode.getImage(), PNG_SIGNATURE.length));
+        }
+        assertEquals(pendingJobs, qrCodeRenderJobRepository.count());
+    }
+
+    @Test
+    void imageRenderedOnReadIsStoredForRowsIssuedWithoutARenderJob() {
+        Event event = fixtures.createEvent("Sponsor Night", LocalDateTime.of(2030, 9, 1, 19, 0));
+        UUID holder = fixtures.createUser();
+        // As left behind by lazy mode: no image, no legacy value and nothing queued
+        UUID[] ids = new TransactionTemplate(transactionManager).execute(status -> {
+            Ticket ticket = new Ticket();
+            ticket.setStatus(TicketStatusEnum.PURCHASED);
+            ticket.setTicketType(ticketTypeRepository.findById(event.getTicketTypes().getFirst().getId()).orElseThrow());
+            ticket.setPurchaser(userRepository.getReferenceById(holder));
+            ticket = ticketRepository.save(ticket);
+            QrCode qrCode = new QrCode();
+            qrCode.setId(UUID.randomUUID());
+            qrCode.setStatus(QrCodeStatusEnum.ACTIVE);
+            qrCode.setTicket(ticket);
+            return new UUID[]{ticket.getId(), qrCodeRepository.save(qrCode).getId()};
+        });
+
+        byte[] image = qrCodeService.getQrCodeImageForUserAndTicket(holder, ids[0]);
+
+        assertArrayEquals(PNG_SIGNATURE, Arrays.copyOf(image, PNG_SIGNATURE.length));
+        assertArrayEquals(image, qrCodeRepository.findById(ids[1]).orElseThrow().getImage());
+    }
+
+    // Rendering happens on the pipeline's pool after the purchase commits
+    private byte[] awaitImage(UUID qrCodeId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            byte[] image = qrCodeRepository.findById(qrCodeId).orElseThrow().getImage();
+            if (image != null) {
+                return image;
+            }
+            Thread.sleep(50);
+        }
+        return fail("QR code " + qrCodeId + " was not rendered");
+    }
+}
@@ -0,0 +1,209 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.CreateTicketTypeRequest;
+import com.himanshu.tickets.domain.PurchaseTicketItem;
+import com.himanshu.tickets.domain.PurchaseTicketsRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketInventoryModeEnum;
+import com.himanshu.tickets.exceptions.PurchaseLimitExceededException;
+import com.himanshu.tickets.exceptions.TicketTypeNotFoundException;
+import com.himanshu.tickets.exceptions.TicketsSoldOutException;
+import com.himanshu.tickets.jobs.TicketSoldCounterBackfill;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketTypeRepository;
+import com.himanshu.tickets.services.TicketTypeService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketTypeServiceImplConcurrencyTest {
+
+    private static final int TOTAL_AVAILABLE = 100;
+    private static final int BUYERS = 600;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketTypeRepository ticketTypeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TicketSoldCounterBackfill ticketSoldCounterBackfill;
+
+    static Stream<Arguments> inventoryModes() {
+        return Stream.of(
+                Arguments.of(TicketInventoryModeEnum.COUNTER, null),
+                Arguments.of(TicketInventoryModeEnum.SHARDED, 8),
+                Arguments.of(TicketInventoryModeEnum.IN_MEMORY, null));
+    }
+
+    @ParameterizedTest
+    @MethodSource("inventoryModes")
+    void parallelBuyersNeverOversell(TicketInventoryModeEnum inventoryMode, Integer inventoryBucketCount) throws Exception {
+        UUID ticketTypeId = createTicketType(TOTAL_AVAILABLE, inventoryMode, inventoryBucketCount);
+        List<UUID> buyers = IntStream.range(0, BUYERS).mapToObj(i -> fixtures.createUser()).toList();
+
+        AtomicInteger purchased = new AtomicInteger();
+        AtomicInteger soldOut = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < BUYERS; i++) {
+                UUID buyer = buyers.get(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+                        purchased.incrementAndGet();
+                    } catch (TicketsSoldOutException ex) {
+                        soldOut.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        }
+
+        assertEquals(TOTAL_AVAILABLE, purchased.get());
+        assertEquals(BUYERS - TOTAL_AVAILABLE, soldOut.get());
+        assertEquals(TOTAL_AVAILABLE, ticketRepository.countByTicketTypeId(ticketTypeId));
+
+        ticketTypeService.reconcileInventory(ticketTypeId);
+        assertEquals(TOTAL_AVAILABLE, ticketTypeRepository.findById(ticketTypeId).orElseThrow().getSold());
+    }
+
+    @Test
+    void reconcileInventoryRepairsDriftedCounter() {
+        UUID ticketTypeId = createTicketType(10, TicketInventoryModeEnum.COUNTER, null);
+        UUID buyer = fixtures.createUser();
+        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+
+        assertFalse(ticketTypeService.reconcileInventory(ticketTypeId));
+
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> ticketTypeRepository.updateSold(ticketTypeId, 7));
+        assertTrue(ticketTypeService.reconcileInventory(ticketTypeId));
+        assertEquals(2, ticketTypeRepository.findById(ticketTypeId).orElseThrow().getSold());
+    }
+
+    @Test
+    void startupBackfillRecountsCountersThatPredateTheColumn() {
+        UUID ticketTypeId = createTicketType(3, TicketInventoryModeEnum.COUNTER, null);
+        UUID buyer = fixtures.createUser();
+        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> ticketTypeRepository.updateSold(ticketTypeId, 0));
+
+        ticketSoldCounterBackfill.backfill();
+
+        assertEquals(2, ticketTypeRepository.findById(ticketTypeId).orElseThrow().getSold());
+        ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        assertThrows(TicketsSoldOutException.class, () -> ticketTypeService.purchaseTicket(buyer, ticketTypeId));
+    }
+
+    @Test
+    void multiTicketOrderDrainsSeveralBuckets() {
+        UUID ticketTypeId = createTicketType(8, TicketInventoryModeEnum.SHARDED, 4);
+        UUID buyer = fixtures.createUser();
+
+        List<Ticket> tickets = ticketTypeService.purchaseTickets(buyer,
+                new PurchaseTicketsRequest(List.of(new PurchaseTicketItem(ticketTypeId, 7))));
+
+        assertEquals(7, tickets.size());
+        assertThrows(TicketsSoldOutException.class, () -> ticketTypeService.purchaseTickets(buyer,
+                new PurchaseTicketsRequest(List.of(new PurchaseTicketItem(ticketTypeId, 2)))));
+        assertFalse(ticketTypeService.reconcileInventory(ticketTypeId));
+    }
+
+    @Test
+    void perUserLimitIsEnforced() {
+        UUID ticketTypeId = createTicketType(100, TicketInventoryModeEnum.COUNTER, null);
+        UUID buyer = fixtures.createUser();
+
+        ticketTypeService.purchaseTickets(buyer,
+                new PurchaseTicketsRequest(List.of(new PurchaseTicketItem(ticketTypeId, 10))));
+
+        assertThrows(PurchaseLimitExceededException.class, () -> ticketTypeService.purchaseTicket(buyer, ticketTypeId));
+        assertEquals(10, ticketRepository.countByTicketTypeId(ticketTypeId));
+    }
+
+    @Test
+    void shardedBucketsFallOverToSiblingsUntilSoldOut() {
+        UUID ticketTypeId = createTicketType(5, TicketInventoryModeEnum.SHARDED, 4);
+        UUID buyer = fixtures.createUser();
+
+        for (int i = 0; i < 5; i++) {
+            ticketTypeService.purchaseTicket(buyer, ticketTypeId);
+        }
+
+        assertThrows(TicketsSoldOutException.class, () -> ticketTypeService.purchaseTicket(buyer, ticketTypeId));
+        assertFalse(ticketTypeService.reconcileInventory(ticketTypeId));
+    }
+
+    @Test
+    void basketCannotBuyTicketTypesOfAnotherEvent() {
+        Event event = fixtures.createEvent("Home Game", LocalDateTime.now().plusDays(30));
+        Event other = fixtures.createEvent("Away Game", LocalDateTime.now().plusDays(30));
+        UUID ticketTypeId = event.getTicketTypes().getFirst().getId();
+        UUID buyer = fixtures.createUser();
+
+        assertThrows(TicketTypeNotFoundException.class, () -> ticketTypeService.purchaseTickets(buyer,
+                new PurchaseTicketsRequest(List.of(
+                        new PurchaseTicketItem(ticketTypeId, 1),
+                        new PurchaseTicketItem(other.getTicketTypes().getFirst().getId(), 1)), event.getId())));
+
+        assertEquals(0, ticketRepository.countByTicketTypeId(ticketTypeId));
+        assertEquals(0, ticketTypeRepository.findById(ticketTypeId).orElseThrow().getSold());
+    }
+
+    private UUID createTicketType(int totalAvailable,
+                                  TicketInventoryModeEnum inventoryMode,
+                                  Integer inventoryBucketCount) {
+        Event event = fixtures.createEvent("Flash Sale", LocalDateTime.now().plusDays(30), new CreateTicketTypeRequest(
+                "General Admission", 50.0, "Standing", totalAvailable, inventoryMode, inventoryBucketCount));
+        return event.getTicketTypes().getFirst().getId();
+    }
+}
@@ -0,0 +1,204 @@
+package com.himanshu.tickets.services.impl;
+
+import com.himanshu.tickets.TestFixtures;
+import com.himanshu.tickets.domain.OfflineTicketScan;
+import com.himanshu.tickets.domain.OfflineTicketValidationBatch;
+import com.himanshu.tickets.domain.TicketManifest;
+import com.himanshu.tickets.domain.TicketValidationRequest;
+import com.himanshu.tickets.domain.entities.Event;
+import com.himanshu.tickets.domain.entities.Ticket;
+import com.himanshu.tickets.domain.entities.TicketValidation;
+import com.himanshu.tickets.domain.entities.TicketValidationMethod;
+import com.himanshu.tickets.domain.entities.TicketValidationStatusEnum;
+import com.himanshu.tickets.repositories.QrCodeRepository;
+import com.himanshu.tickets.repositories.TicketRepository;
+import com.himanshu.tickets.repositories.TicketValidationRepository;
+import com.himanshu.tickets.services.TicketTypeService;
+import com.himanshu.tickets.services.TicketValidationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TicketValidationServiceImplTest {
+
+    private static final LocalDateTime DOORS_OPEN = LocalDateTime.of(2030, 6, 1, 18, 0);
+
+    @Autowired
+    private TicketValidationService ticketValidationService;
+
+    @Autowired
+    private TicketTypeService ticketTypeService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private QrCodeRepository qrCodeRepository;
+
+    @Autowired
+    private TicketValidationRepository ticketValidationRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private QrCodePayloadCodec qrCodePayloadCodec;
+
+    private Event event;
+    private UUID ticketId;
+    private UUID qrCodeId;
+
+    @BeforeEach
+    void purchaseTicket() {
+        event = fixtures.createEvent("Open Air", DOORS_OPEN, TestFixtures.generalAdmission(10));
+        UUID buyer = fixtures.createUser();
+        Ticket ticket = ticketTypeService.purchaseTicket(buyer, event.getTicketTypes().getFirst().getId());
+        ticketId = ticket.getId();
+        qrCodeId = qrCodeRepository.findByTicketIdAndTicketPurchaserId(ticketId, buyer).orElseThrow().getId();
+    }
+
+    @Test
+    void earliestScanIsAdmittedWhateverTheUploadOrder() {
+        ticketValidationService.syncOfflineValidations(batch("gate-b-1", DOORS_OPEN.plusMinutes(5)));
+        ticketValidationService.syncOfflineValidations(batch("gate-a-1", DOORS_OPEN.plusMinutes(1)));
+
+        List<TicketValidation> validations = validationsByScanTime();
+        assertEquals(2, validations.size());
+        assertEquals("gate-a-1", validations.get(0).getDeviceId());
+        assertEquals(TicketValidationStatusEnum.VALID, validations.get(0).getStatus());
+        assertEquals(TicketValidationStatusEnum.INVALID, validations.get(1).getStatus());
+    }
+
+    @Test
+    void reUploadedBatchIsNotRecordedTwice() {
+        OfflineTicketValidationBatch batch = batch("gate-a-1", DOORS_OPEN);
+
+        ticketValidationService.syncOfflineValidations(batch);
+        List<TicketValidation> results = ticketValidationService.syncOfflineValidations(batch);
+
+        assertEquals(TicketValidationStatusEnum.VALID, results.getFirst().getStatus());
+        assertEquals(1, validationsByScanTime().size());
+    }
+
+    @Test
+    void scanForAnotherEventIsRejectedWithoutBeingRecorded() {
+        OfflineTicketValidationBatch batch = batch("gate-a-1", DOORS_OPEN);
+        batch.setEventId(UUID.randomUUID());
+
+        TicketValidation result = ticketValidationService.syncOfflineValidations(batch).getFirst();
+
+        assertEquals(TicketValidationStatusEnum.INVALID, result.getStatus());
+        assertNull(result.getTicket());
+        assertTrue(validationsByScanTime().isEmpty());
+    }
+
+    @Test
+    void signedPayloadIsOnlyAdmittedAtItsOwnEvent() {
+        String payload = qrCodePayloadCodec.encode(qrCodeId, event.getId());
+        String forged = qrCodePayloadCodec.encode(qrCodeId, UUID.randomUUID()).substring(0, 45) + payload.substring(45);
+
+        TicketValidation foreign = ticketValidationService.validateTicketByQrPayload(payload, UUID.randomUUID(), null);
+        TicketValidation tampered = ticketValidationService.validateTicketByQrPayload(forged, null, null);
+
+        assertEquals(TicketValidationStatusEnum.INVALID, foreign.getStatus());
+        assertEquals(TicketValidationStatusEnum.INVALID, tampered.getStatus());
+        assertNull(foreign.getTicket());
+        assertTrue(validationsByScanTime().isEmpty());
+        assertEquals(TicketValidationStatusEnum.VALID,
+                ticketValidationService.validateTicketByQrPayload(payload, event.getId(), null).getStatus());
+    }
+
+    @Test
+    void batchAdmitsEachTicketOnceAndAnswersInRequestOrder() {
+        UUID unknownQrCode = UUID.randomUUID();
+
+        List<TicketValidation> results = ticketValidationService.validateTickets(List.of(
+                new TicketValidationRequest(qrCodeId, TicketValidationMethod.QR_SCAN),
+                new TicketValidationRequest(unknownQrCode, TicketValidationMethod.QR_SCAN),
+                new TicketValidationRequest(ticketId, TicketValidationMethod.MANUAL),
+                new TicketValidationRequest(qrCodeId, null)));
+
+        assertEquals(List.of(
+                TicketValidationStatusEnum.VALID,
+                TicketValidationStatusEnum.INVALID,
+                TicketValidationStatusEnum.INVALID,
+                TicketValidationStatusEnum.INVALID), results.stream().map(TicketValidation::getStatus).toList());
+        assertNull(results.get(1).getTicket());
+        assertEquals(3, validationsByScanTime().size());
+    }
+
+    @Test
+    void simultaneousScansAdmitTheTicketOnce() throws Exception {
+        int gates = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger valid = new AtomicInteger();
+        List<Future<?>> scans = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < gates; i++) {
+                scans.add(executor.submit(() -> {
+                    start.await();
+                    if (ticketValidationService.validateTicketByQrCode(qrCodeId, null).getStatus() == TicketValidationStatusEnum.VALID) {
+                        valid.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> scan : scans) {
+                scan.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(1, valid.get());
+        assertEquals(1, validationsByScanTime().stream()
+                .filter(v -> v.getStatus() == TicketValidationStatusEnum.VALID)
+                .count());
+        assertNotNull(ticketRepository.findById(ticketId).orElseThrow().getFirstValidatedAt());
+    }
+
+    @Test
+    void manifestListsActiveQrCodesAndDeltasRepeatTheOverlapWindow() {
+        TicketManifest full = ticketValidationService.getTicketManifest(event.getId(), null);
+
+        assertEquals(List.of(qrCodeId), full.getActiveQrCodeIds());
+        assertTrue(full.getVersion() > 0);
+
+        TicketManifest delta = ticketValidationService.getTicketManifest(event.getId(), full.getVersion());
+        assertEquals(full.getVersion(), delta.getVersion());
+        assertEquals(List.of(qrCodeId), delta.getActiveQrCodeIds());
+        assertTrue(delta.getRevokedQrCodeIds().isEmpty());
+    }
+
+    private OfflineTicketValidationBatch batch(String deviceId, LocalDateTime scannedAt) {
+        return new OfflineTicketValidationBatch(event.getId(), deviceId, "Main",
+                List.of(new OfflineTicketScan(qrCodeId, scannedAt)));
+    }
+
+    private List<TicketValidation> validationsByScanTime() {
+        return ticketValidationRepository.findByTicketIdIn(List.of(ticketId)).stream()
+                .sorted(Comparator.comparing(TicketValidation::getScannedAt))
+                .toList();
+    }
+}
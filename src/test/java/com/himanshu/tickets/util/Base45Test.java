@@ -0,0 +1,38 @@
+package com.himanshu.tickets.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class Base45Test {
+
+    @Test
+    void matchesTheRfcExamples() {
+        assertEquals("BB8", Base45.encode("AB".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("%69 VD92EX0", Base45.encode("Hello!!".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("UJCLQE7W581", Base45.encode("base-45".getBytes(StandardCharsets.US_ASCII)));
+        assertEquals("ietf!", new String(Base45.decode("QED8WEX0"), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    void roundTripsArbitraryBytes() {
+        Random random = new Random(45);
+        for (int length = 0; length < 64; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            assertArrayEquals(data, Base45.decode(Base45.encode(data)));
+        }
+    }
+
+    @Test
+    void rejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode("GGW"));
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode("a12"));
+        assertThrows(IllegalArgumentException.class, () -> Base45.decode("A"));
+    }
+}
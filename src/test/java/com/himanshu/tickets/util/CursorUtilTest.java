@@ -0,0 +1,45 @@
+package com.himanshu.tickets.util;
+
+import com.himanshu.tickets.domain.KeysetCursor;
+import com.himanshu.tickets.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorUtilTest {
+
+    @Test
+    void roundTripsToTheNanosecond() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2030, 5, 17, 9, 30, 12, 123_456_789), UUID.randomUUID());
+
+        String encoded = CursorUtil.encode(cursor);
+
+        assertEquals(39, encoded.length());
+        assertEquals(cursor, CursorUtil.decode(encoded));
+    }
+
+    @Test
+    void blankCursorStartsFromTheTop() {
+        assertNull(CursorUtil.decode(""));
+        assertNull(CursorUtil.decode(null));
+    }
+
+    @Test
+    void tamperedCursorsAreRejected() {
+        String encoded = CursorUtil.encode(new KeysetCursor(LocalDateTime.of(2030, 1, 1, 0, 0), UUID.randomUUID()));
+
+        assertThrows(InvalidCursorException.class, () -> CursorUtil.decode("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> CursorUtil.decode(encoded.substring(4)));
+
+        byte[] futureVersion = Base64.getUrlDecoder().decode(encoded);
+        futureVersion[0] = 2;
+        assertThrows(InvalidCursorException.class,
+                () -> CursorUtil.decode(Base64.getUrlEncoder().withoutPadding().encodeToString(futureVersion)));
+    }
+}
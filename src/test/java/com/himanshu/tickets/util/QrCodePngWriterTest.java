@@ -0,0 +1,67 @@
+package com.himanshu.tickets.util;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+import com.google.zxing.qrcode.QRCodeWriter;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QrCodePngWriterTest {
+
+    @Test
+    void writtenPngDecodesToTheEncodedPayload() throws Exception {
+        String payload = UUID.randomUUID().toString();
+        BitMatrix matrix = new QRCodeWriter().encode(payload, BarcodeFormat.QR_CODE, 300, 300);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrCodePngWriter.write(matrix)));
+
+        assertEquals(300, image.getWidth());
+        assertEquals(300, image.getHeight());
+        String decoded = new QRCodeReader()
+                .decode(new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image))))
+                .getText();
+        assertEquals(payload, decoded);
+    }
+
+    @Test
+    void matchesEveryPixelForWidthsThatAreNotByteAligned() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("ticket", BarcodeFormat.QR_CODE, 123, 123);
+
+        // Encode twice so the second image comes from warmed-up thread-local buffers
+        QrCodePngWriter.write(new QRCodeWriter().encode(UUID.randomUUID().toString(), BarcodeFormat.QR_CODE, 300, 300));
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrCodePngWriter.write(matrix)));
+
+        for (int y = 0; y < matrix.getHeight(); y++) {
+            for (int x = 0; x < matrix.getWidth(); x++) {
+                int expected = matrix.get(x, y) ? 0x000000 : 0xFFFFFF;
+                assertEquals(expected, image.getRGB(x, y) & 0xFFFFFF, "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    void scaledMatrixWritesEveryCellAsABlockOfPixels() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("ticket", BarcodeFormat.QR_CODE, 0, 0);
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(QrCodePngWriter.write(matrix, 3)));
+
+        assertEquals(matrix.getWidth() * 3, image.getWidth());
+        assertEquals(matrix.getHeight() * 3, image.getHeight());
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                int expected = matrix.get(x / 3, y / 3) ? 0x000000 : 0xFFFFFF;
+                assertEquals(expected, image.getRGB(x, y) & 0xFFFFFF, "pixel " + x + "," + y);
+            }
+        }
+    }
+}